@@ -0,0 +1,65 @@
+#!/usr/bin/env sh
+# 기동 시간 측정: 프로세스 시작부터 /api/projects 가 처음 200 을 돌려줄 때까지.
+#
+#   ./gradlew bootJar
+#   scripts/startup-benchmark.sh                      # 기본 프로필, 5회
+#   RUNS=10 scripts/startup-benchmark.sh fast-startup
+#   JAVA_OPTS="-XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true" \
+#     JAR=app/app.jar scripts/startup-benchmark.sh fast-startup
+#
+# DATABASE_URL 등 접속 정보는 평소처럼 환경 변수로 넘긴다.
+set -eu
+
+PROFILE="${1:-default}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+JAR="${JAR:-$(ls build/libs/*.jar | grep -v plain | head -n 1)}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+BASE="http://localhost:${PORT}"
+
+now_ms() {
+    date +%s%3N
+}
+
+run_once() {
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS -Dserver.port="$PORT" -Dspring.profiles.active="$PROFILE" -jar "$JAR" >/dev/null 2>&1 &
+    pid=$!
+    trap 'kill "$pid" 2>/dev/null' EXIT
+
+    token=""
+    while [ -z "$token" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before becoming ready" >&2
+            exit 1
+        fi
+        token=$(curl -s -X POST "$BASE/api/auth/login" -H 'Content-Type: application/json' \
+            -d '{"username":"admin","password":"admin"}' | sed -n 's/.*"token":"\([^"]*\)".*/\1/p') || true
+        [ -n "$token" ] || sleep 0.05
+    done
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' -H "Authorization: Bearer $token" "$BASE/api/projects")" = "200" ]; do
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+    echo "$elapsed"
+}
+
+echo "profile=$PROFILE jar=$JAR runs=$RUNS"
+results=""
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    ms=$(run_once)
+    echo "run $i: ${ms} ms to first 200 from /api/projects"
+    results="$results $ms"
+    i=$((i + 1))
+done
+
+echo "$results" | tr ' ' '\n' | grep -v '^$' | sort -n | awk '
+    { v[NR] = $1; sum += $1 }
+    END { printf "min %d ms, median %d ms, mean %d ms, max %d ms\n", v[1], v[int((NR + 1) / 2)], sum / NR, v[NR] }'
@@ -1,4 +1,4 @@
-import { useEffect, useMemo, useState } from 'react';
+import { useEffect, useState } from 'react';
 import { Plus, Trash2, Edit2, Calendar, Tag, Filter } from 'lucide-react';
 import { authFetchJson, API_BASE } from '../api';
 
@@ -32,7 +32,45 @@ interface Project {
   name: string;
 }
 
+// GET /api/tasks/query 응답. facet 은 자기 필터만 빼고 나머지 필터를 적용한 개수
+interface TaskQueryResponse {
+  items: Task[];
+  total: number;
+  page: number;
+  size: number;
+  facets: Record<'priority' | 'completed' | 'project', Record<string, number>>;
+}
+
+type SortKey = 'deadline' | 'createdAt' | 'updatedAt' | 'title' | 'priority';
+
+interface TaskFilters {
+  projectId: string; // 'all' 또는 프로젝트 id
+  priority: Priority | 'all';
+  completed: 'all' | 'true' | 'false';
+  sort: SortKey;
+  direction: 'asc' | 'desc';
+  page: number;
+}
+
 const PROJECTS_API = `${API_BASE}/api/projects`;
+const PAGE_SIZE = 50;
+
+const INITIAL_FILTERS: TaskFilters = {
+  projectId: 'all',
+  priority: 'all',
+  completed: 'all',
+  sort: 'deadline',
+  direction: 'asc',
+  page: 0,
+};
+
+const SORT_LABELS: Record<SortKey, string> = {
+  deadline: '마감일',
+  createdAt: '생성일',
+  updatedAt: '수정일',
+  title: '작업명',
+  priority: '우선순위',
+};
 
 async function apiFetch<T>(input: RequestInfo, init?: RequestInit): Promise<T> {
   return authFetchJson<T>(input, init);
@@ -43,8 +81,22 @@ async function fetchProjectsSimple(): Promise<Project[]> {
   return (data || []).map((p) => ({ id: String(p.id), name: p.name }));
 }
 
-async function fetchTasks(projectId: number): Promise<Task[]> {
-  return apiFetch<Task[]>(`${PROJECTS_API}/${projectId}/tasks`);
+// ✅ 필터/정렬/페이지 나누기는 서버에서: 현재 페이지와 facet 개수만 받는다
+async function queryTasks(filters: TaskFilters): Promise<TaskQueryResponse> {
+  const params = new URLSearchParams({
+    sort: filters.sort,
+    direction: filters.direction,
+    page: String(filters.page),
+    size: String(PAGE_SIZE),
+  });
+  if (filters.projectId !== 'all') params.set('project', filters.projectId);
+  if (filters.priority !== 'all') params.set('priority', filters.priority);
+  if (filters.completed !== 'all') params.set('completed', filters.completed);
+  return apiFetch<TaskQueryResponse>(`${API_BASE}/api/tasks/query?${params}`);
+}
+
+function facetTotal(counts?: Record<string, number>): number {
+  return Object.values(counts ?? {}).reduce((sum, count) => sum + count, 0);
 }
 
 async function createTask(
@@ -78,18 +130,16 @@ async function deleteTask(projectId: number, taskId: number): Promise<void> {
   await apiFetch<void>(`${PROJECTS_API}/${projectId}/tasks/${taskId}`, { method: 'DELETE' });
 }
 
-async function fetchAllTasks(): Promise<Task[]> {
-  return apiFetch<Task[]>(`${API_BASE}/api/tasks`);
-}
-
 export default function TasksView() {
   // ✅ 프로젝트: 하드코딩 제거 → API 로딩
   const [projects, setProjects] = useState<Project[]>([]);
   const [projectsLoading, setProjectsLoading] = useState(false);
   const [projectsError, setProjectsError] = useState('');
 
-  const [tasks, setTasks] = useState<Task[]>([]);
-  const [selectedProjectId, setSelectedProjectId] = useState<string>('all');
+  const [filters, setFilters] = useState<TaskFilters>(INITIAL_FILTERS);
+  const [result, setResult] = useState<TaskQueryResponse | null>(null);
+  // 쓰기 후 같은 조건으로 다시 조회 (개수가 바뀌므로 목록을 직접 고치지 않는다)
+  const [reloadKey, setReloadKey] = useState(0);
 
   const [loading, setLoading] = useState(false);
   const [errorMsg, setErrorMsg] = useState<string>('');
@@ -140,46 +190,34 @@ export default function TasksView() {
     };
   }, []);
 
-  const selectedProjectIdNumber = useMemo(() => {
-    if (selectedProjectId === 'all') return null;
-    const n = Number(selectedProjectId);
-    return Number.isFinite(n) ? n : null;
-  }, [selectedProjectId]);
-
-  // ✅ 프로젝트 선택에 따라 서버에서 Task 로드
-  useEffect(() => {
-    setErrorMsg('');
-
-    if (selectedProjectId === 'all') {
-      setLoading(true);
-      fetchAllTasks()
-        .then((data) => setTasks(Array.isArray(data) ? data : []))
-        .catch((e: any) => {
-          setErrorMsg(`작업 조회 실패: ${e?.message || '알 수 없는 오류'}`);
-          setTasks([]);
-        })
-        .finally(() => setLoading(false));
-      return;
-    }
+  // 필터를 바꾸면 첫 페이지부터
+  const updateFilters = (patch: Partial<TaskFilters>) => {
+    setFilters((prev) => ({ ...prev, page: 0, ...patch }));
+  };
 
-    const projectId = selectedProjectIdNumber;
-    if (projectId == null) {
-      setTasks([]);
-      return;
-    }
+  const reload = () => setReloadKey((key) => key + 1);
 
+  // ✅ 필터/정렬/페이지가 바뀌면 서버에서 해당 페이지만 로드
+  useEffect(() => {
     let cancelled = false;
 
+    setErrorMsg('');
     setLoading(true);
-    fetchTasks(projectId)
+    queryTasks(filters)
       .then((data) => {
         if (cancelled) return;
-        setTasks(Array.isArray(data) ? data : []);
+        // 마지막 페이지의 작업을 지워서 페이지가 비었으면 마지막 페이지로
+        const lastPage = Math.max(0, Math.ceil(data.total / PAGE_SIZE) - 1);
+        if (filters.page > lastPage) {
+          setFilters((prev) => ({ ...prev, page: lastPage }));
+          return;
+        }
+        setResult(data);
       })
       .catch((e: any) => {
         if (cancelled) return;
         setErrorMsg(`작업 조회 실패: ${e?.message || '알 수 없는 오류'}`);
-        setTasks([]);
+        setResult(null);
       })
       .finally(() => {
         if (cancelled) return;
@@ -189,12 +227,14 @@ export default function TasksView() {
     return () => {
       cancelled = true;
     };
-  }, [selectedProjectId, selectedProjectIdNumber]);
+  }, [filters, reloadKey]);
 
-  const filteredTasks =
-    selectedProjectId === 'all'
-      ? tasks
-      : tasks.filter((task) => String(task.projectId) === selectedProjectId);
+  const tasks = result?.items ?? [];
+  const facets = result?.facets;
+  const total = result?.total ?? 0;
+  const totalPages = Math.max(1, Math.ceil(total / PAGE_SIZE));
+  const isFiltered =
+    filters.projectId !== 'all' || filters.priority !== 'all' || filters.completed !== 'all';
 
   const handleAddTask = async () => {
     setErrorMsg('');
@@ -207,14 +247,13 @@ export default function TasksView() {
     try {
       setLoading(true);
 
-      const created = await createTask(projectId, {
+      await createTask(projectId, {
         title: newTask.title,
         description: newTask.description || '',
         priority: newTask.priority,
         deadline: newTask.deadline,
       });
-
-      setTasks((prev) => [...prev, created]);
+      reload();
 
       setIsAddDialogOpen(false);
       setNewTask({
@@ -239,19 +278,14 @@ export default function TasksView() {
     try {
       setLoading(true);
 
-      const updated = await updateTask(editingTask.projectId, editingTask.taskId, {
+      await updateTask(editingTask.projectId, editingTask.taskId, {
         title: editingTask.title,
         description: editingTask.description || '',
         priority: editingTask.priority,
         deadline: editingTask.deadline,
         completed: editingTask.completed,
       });
-
-      setTasks((prev) =>
-        prev.map((t) =>
-          t.projectId === updated.projectId && t.taskId === updated.taskId ? updated : t
-        )
-      );
+      reload();
 
       setIsEditDialogOpen(false);
       setEditingTask(null);
@@ -268,10 +302,7 @@ export default function TasksView() {
     try {
       setLoading(true);
       await deleteTask(task.projectId, task.taskId);
-
-      setTasks((prev) =>
-        prev.filter((t) => !(t.projectId === task.projectId && t.taskId === task.taskId))
-      );
+      reload();
     } catch (e: any) {
       setErrorMsg(`작업 삭제 실패: ${e?.message || '알 수 없는 오류'}`);
     } finally {
@@ -282,12 +313,8 @@ export default function TasksView() {
   const handleToggleComplete = async (task: Task) => {
     setErrorMsg('');
     try {
-      const updated = await toggleTask(task.projectId, task.taskId);
-      setTasks((prev) =>
-        prev.map((t) =>
-          t.projectId === updated.projectId && t.taskId === updated.taskId ? updated : t
-        )
-      );
+      await toggleTask(task.projectId, task.taskId);
+      reload();
     } catch (e: any) {
       setErrorMsg(`완료 처리 실패: ${e?.message || '알 수 없는 오류'}`);
     }
@@ -328,8 +355,10 @@ export default function TasksView() {
     return projects.find((p) => p.id === String(projectId))?.name || '알 수 없음';
   };
 
-  const completedCount = filteredTasks.filter((t) => t.completed).length;
-  const totalCount = filteredTasks.length;
+  // 완료/진행 중은 completed facet 개수라 상태 칩을 골라도 진행률은 그대로다
+  const completedCount = facets?.completed?.['true'] ?? 0;
+  const openCount = facets?.completed?.['false'] ?? 0;
+  const totalCount = completedCount + openCount;
   const progressPercentage = totalCount > 0 ? Math.round((completedCount / totalCount) * 100) : 0;
 
   return (
@@ -450,7 +479,7 @@ export default function TasksView() {
       <div className={styles.statsGrid}>
         <div className={styles.statCard}>
           <div className={styles.statLabel}>전체 작업</div>
-          <div className={styles.statValue}>{filteredTasks.length}</div>
+          <div className={styles.statValue}>{totalCount}</div>
         </div>
 
         <div className={styles.statCard}>
@@ -460,9 +489,7 @@ export default function TasksView() {
 
         <div className={styles.statCard}>
           <div className={styles.statLabel}>진행 중</div>
-          <div className={`${styles.statValue} ${styles.statBlue}`}>
-            {filteredTasks.length - completedCount}
-          </div>
+          <div className={`${styles.statValue} ${styles.statBlue}`}>{openCount}</div>
         </div>
 
         <div className={styles.statCard}>
@@ -475,19 +502,85 @@ export default function TasksView() {
             <Filter className={styles.icon16} />
             프로젝트 필터
           </Label>
-          <Select value={selectedProjectId} onValueChange={setSelectedProjectId}>
+          <Select value={filters.projectId} onValueChange={(value) => updateFilters({ projectId: value })}>
             <SelectTrigger id="project-filter" className={styles.filterTrigger}>
               <SelectValue placeholder={projectsLoading ? '불러오는 중...' : undefined} />
             </SelectTrigger>
             <SelectContent>
-              <SelectItem value="all">전체</SelectItem>
+              <SelectItem value="all">전체 ({facetTotal(facets?.project)})</SelectItem>
               {projects.map((project) => (
                 <SelectItem key={project.id} value={project.id}>
-                  {project.name}
+                  {project.name} ({facets?.project?.[project.id] ?? 0})
+                </SelectItem>
+              ))}
+            </SelectContent>
+          </Select>
+        </div>
+      </div>
+
+      {/* Facets & Sort */}
+      <div className={styles.facetBar}>
+        <div className={styles.facetGroup}>
+          <span className={styles.facetLabel}>우선순위</span>
+          {(['all', 'high', 'medium', 'low'] as const).map((priority) => (
+            <Button
+              key={priority}
+              size="sm"
+              variant={filters.priority === priority ? 'default' : 'outline'}
+              onClick={() => updateFilters({ priority })}
+            >
+              {priority === 'all' ? '전체' : getPriorityLabel(priority)}
+              <span className={styles.facetCount}>
+                {priority === 'all' ? facetTotal(facets?.priority) : facets?.priority?.[priority] ?? 0}
+              </span>
+            </Button>
+          ))}
+        </div>
+
+        <div className={styles.facetGroup}>
+          <span className={styles.facetLabel}>상태</span>
+          {(
+            [
+              ['all', '전체'],
+              ['false', '진행 중'],
+              ['true', '완료'],
+            ] as const
+          ).map(([completed, label]) => (
+            <Button
+              key={completed}
+              size="sm"
+              variant={filters.completed === completed ? 'default' : 'outline'}
+              onClick={() => updateFilters({ completed })}
+            >
+              {label}
+              <span className={styles.facetCount}>
+                {completed === 'all' ? facetTotal(facets?.completed) : facets?.completed?.[completed] ?? 0}
+              </span>
+            </Button>
+          ))}
+        </div>
+
+        <div className={styles.facetGroup}>
+          <span className={styles.facetLabel}>정렬</span>
+          <Select value={filters.sort} onValueChange={(value) => updateFilters({ sort: value as SortKey })}>
+            <SelectTrigger className={styles.sortTrigger}>
+              <SelectValue />
+            </SelectTrigger>
+            <SelectContent>
+              {(Object.keys(SORT_LABELS) as SortKey[]).map((key) => (
+                <SelectItem key={key} value={key}>
+                  {SORT_LABELS[key]}
                 </SelectItem>
               ))}
             </SelectContent>
           </Select>
+          <Button
+            size="sm"
+            variant="outline"
+            onClick={() => updateFilters({ direction: filters.direction === 'asc' ? 'desc' : 'asc' })}
+          >
+            {filters.direction === 'asc' ? '오름차순' : '내림차순'}
+          </Button>
         </div>
       </div>
 
@@ -509,7 +602,7 @@ export default function TasksView() {
             </thead>
 
             <tbody className={styles.tbody}>
-              {filteredTasks.map((task) => (
+              {tasks.map((task) => (
                 <tr key={`${task.projectId}-${task.taskId}`} className={styles.row}>
                   <td className={styles.td}>
                     <Checkbox
@@ -575,15 +668,39 @@ export default function TasksView() {
           </table>
         </div>
 
-        {filteredTasks.length === 0 && (
+        {tasks.length === 0 && (
           <div className={styles.empty}>
             <p className={styles.emptyText}>
-              {selectedProjectId === 'all'
-                ? '프로젝트를 선택하면 작업이 표시됩니다.'
-                : '작업이 없습니다. 새 작업을 추가해보세요!'}
+              {isFiltered ? '조건에 맞는 작업이 없습니다.' : '작업이 없습니다. 새 작업을 추가해보세요!'}
             </p>
           </div>
         )}
+
+        {total > 0 && (
+          <div className={styles.pagination}>
+            <span className={styles.pageInfo}>
+              총 {total}개 · {filters.page + 1} / {totalPages} 페이지
+            </span>
+            <div className={styles.pageButtons}>
+              <Button
+                variant="outline"
+                size="sm"
+                disabled={loading || filters.page === 0}
+                onClick={() => setFilters((prev) => ({ ...prev, page: prev.page - 1 }))}
+              >
+                이전
+              </Button>
+              <Button
+                variant="outline"
+                size="sm"
+                disabled={loading || filters.page + 1 >= totalPages}
+                onClick={() => setFilters((prev) => ({ ...prev, page: prev.page + 1 }))}
+              >
+                다음
+              </Button>
+            </div>
+          </div>
+        )}
       </div>
 
       {/* Edit Dialog */}
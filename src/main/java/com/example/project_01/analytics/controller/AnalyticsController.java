@@ -2,52 +2,91 @@ package com.example.project_01.analytics.controller;
 
 import com.example.project_01.analytics.dto.*;
 import com.example.project_01.analytics.service.AnalyticsService;
+import com.example.project_01.config.AnalyticsBulkhead;
+import com.example.project_01.config.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/analytics")
 @RequiredArgsConstructor
+// 격벽에 넣기 전에 합친다: 같은 요청이 몰려도 격벽 자리는 하나만 쓴다
+@SingleFlight
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final AnalyticsBulkhead analyticsBulkhead;
 
     @GetMapping("/summary")
-    public AnalyticsSummaryResponse getSummary() {
-        return analyticsService.getSummary();
+    public CompletableFuture<AnalyticsSummaryResponse> getSummary() {
+        return analyticsBulkhead.submit(analyticsService::getSummary);
     }
 
     @GetMapping("/daily")
-    public List<ChartDataResponse> getDailyStats() {
-        return analyticsService.getDailyStats();
+    public CompletableFuture<List<ChartDataResponse>> getDailyStats() {
+        return analyticsBulkhead.submit(analyticsService::getDailyStats);
     }
 
     @GetMapping("/weekly")
-    public List<ChartDataResponse> getWeeklyStats() {
-        return analyticsService.getWeeklyStats();
+    public CompletableFuture<List<ChartDataResponse>> getWeeklyStats() {
+        return analyticsBulkhead.submit(analyticsService::getWeeklyStats);
     }
 
     @GetMapping("/monthly")
-    public List<ChartDataResponse> getMonthlyStats() {
-        return analyticsService.getMonthlyStats();
+    public CompletableFuture<List<ChartDataResponse>> getMonthlyStats() {
+        return analyticsBulkhead.submit(analyticsService::getMonthlyStats);
     }
 
     @GetMapping("/projects")
-    public List<ProjectStatResponse> getProjectStats() {
-        return analyticsService.getProjectStats();
+    public CompletableFuture<List<ProjectStatResponse>> getProjectStats() {
+        return analyticsBulkhead.submit(analyticsService::getProjectStats);
     }
 
     @GetMapping("/priorities")
-    public List<PriorityStatResponse> getPriorityStats() {
-        return analyticsService.getPriorityStats();
+    public CompletableFuture<List<PriorityStatResponse>> getPriorityStats() {
+        return analyticsBulkhead.submit(analyticsService::getPriorityStats);
     }
 
     @GetMapping("/recent")
-    public List<com.example.project_01.task.dto.TaskResponse> getRecentTasks() {
-        return analyticsService.getRecentCompletedTasks();
+    public CompletableFuture<List<com.example.project_01.task.dto.TaskResponse>> getRecentTasks() {
+        return analyticsBulkhead.submit(analyticsService::getRecentCompletedTasks);
+    }
+
+    // 완료 리드타임 분위수 (groupBy = project | priority)
+    @GetMapping("/lead-times")
+    public CompletableFuture<List<LeadTimeResponse>> getLeadTimes(
+            @RequestParam(defaultValue = "project") String groupBy) {
+        return analyticsBulkhead.submit(() -> analyticsService.getLeadTimes(groupBy));
+    }
+
+    // 임의 구간 완료 추이 (최대 maxPoints 개로 다운샘플링)
+    @GetMapping("/timeseries")
+    public CompletableFuture<List<ChartDataResponse>> getTimeSeries(
+            @RequestParam LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) Long project,
+            @RequestParam(required = false) String priority,
+            @RequestParam(defaultValue = "500") int maxPoints) {
+        LocalDate until = to == null ? LocalDate.now() : to;
+        return analyticsBulkhead.submit(() -> analyticsService.getTimeSeries(from, until, granularity,
+                project, priority, maxPoints));
+    }
+
+    // 날짜별 남은(미완료) 작업 수
+    @GetMapping("/burndown")
+    public CompletableFuture<List<ChartDataResponse>> getBurndown(
+            @RequestParam LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) Long project) {
+        LocalDate until = to == null ? LocalDate.now() : to;
+        return analyticsBulkhead.submit(() -> analyticsService.getBurndown(from, until, project));
     }
 }
@@ -0,0 +1,20 @@
+package com.example.project_01.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 리드타임 분위수 (시간 단위). groupBy=project 이면 projectId, groupBy=priority 이면 priority 가 채워진다
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadTimeResponse {
+    private Long projectId;
+    private String priority;
+    private long count;
+    private double p50Hours;
+    private double p90Hours;
+    private double p99Hours;
+}
@@ -0,0 +1,15 @@
+package com.example.project_01.analytics.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 완료된 작업 하나의 리드타임 (스케치 초기 적재용)
+@Getter
+@Setter
+@NoArgsConstructor
+public class LeadTimeSample {
+    private Long projectId;
+    private String priority;
+    private double hours;
+}
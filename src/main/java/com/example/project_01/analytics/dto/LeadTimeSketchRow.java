@@ -0,0 +1,17 @@
+package com.example.project_01.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadTimeSketchRow {
+    private Long projectId;
+    private String priority;
+    private byte[] digest;
+    private long sampleCount;
+}
@@ -4,7 +4,10 @@ import com.example.project_01.analytics.dto.ChartDataResponse;
 import com.example.project_01.analytics.dto.PriorityStatResponse;
 import com.example.project_01.analytics.dto.ProjectStatResponse;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Mapper
@@ -31,4 +34,13 @@ public interface AnalyticsMapper {
     // Returns recently completed tasks
     List<com.example.project_01.task.dto.TaskResponse> findRecentCompletedTasks(
             @org.apache.ibatis.annotations.Param("limit") int limit);
+
+    // Streams completed task counts per bucket (day/week/month) for [from, to], empty buckets included
+    void streamCompletionSeries(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("granularity") String granularity, @Param("projectId") Long projectId,
+            @Param("priority") String priority, ResultHandler<ChartDataResponse> handler);
+
+    // Open (not completed) task count at the end of each day in [from, to], replayed from task_events
+    List<ChartDataResponse> findBurndown(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("projectId") Long projectId);
 }
@@ -0,0 +1,26 @@
+package com.example.project_01.analytics.mapper;
+
+import com.example.project_01.analytics.dto.LeadTimeSample;
+import com.example.project_01.analytics.dto.LeadTimeSketchRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.List;
+import java.util.Optional;
+
+@Mapper
+public interface LeadTimeSketchMapper {
+    List<LeadTimeSketchRow> findAll();
+
+    Optional<LeadTimeSketchRow> findForUpdate(@Param("projectId") Long projectId, @Param("priority") String priority);
+
+    void upsert(LeadTimeSketchRow row);
+
+    long countSketches();
+
+    // 여러 인스턴스가 동시에 초기 적재하지 않도록 (트랜잭션 끝나면 풀림)
+    boolean tryLockBackfill();
+
+    void streamCompletedLeadTimes(ResultHandler<LeadTimeSample> handler);
+}
@@ -2,10 +2,19 @@ package com.example.project_01.analytics.service;
 
 import com.example.project_01.analytics.dto.*;
 import com.example.project_01.analytics.mapper.AnalyticsMapper;
+import com.example.project_01.task.service.TaskEventPartitions;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -13,7 +22,13 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class AnalyticsService {
 
+    private static final int MIN_POINTS = 3;
+    private static final int MAX_POINTS = 5000;
+    private static final long MAX_BUCKETS = 50_000;
+
     private final AnalyticsMapper analyticsMapper;
+    private final LeadTimeSketches leadTimeSketches;
+    private final TaskEventPartitions taskEventPartitions;
 
     public AnalyticsSummaryResponse getSummary() {
         AnalyticsSummaryResponse summary = new AnalyticsSummaryResponse();
@@ -58,4 +73,64 @@ public class AnalyticsService {
     public List<com.example.project_01.task.dto.TaskResponse> getRecentCompletedTasks() {
         return analyticsMapper.findRecentCompletedTasks(5); // Limit 5
     }
+
+    // 생성 -> 완료 리드타임 p50/p90/p99 (프로젝트별 또는 우선순위별)
+    public List<LeadTimeResponse> getLeadTimes(String groupBy) {
+        return leadTimeSketches.percentiles(groupBy);
+    }
+
+    /**
+     * [from, to] 구간의 완료 작업 수를 granularity(day / week / month) 단위로 집계하고,
+     * 버킷이 maxPoints 보다 많으면 LTTB 로 줄인다. 행은 커서로 읽으며 바로 다운샘플러에 넘긴다.
+     */
+    public List<ChartDataResponse> getTimeSeries(LocalDate from, LocalDate to, String granularity,
+            Long projectId, String priority, int maxPoints) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from is after to");
+        }
+        if (maxPoints < MIN_POINTS || maxPoints > MAX_POINTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "maxPoints must be between " + MIN_POINTS + " and " + MAX_POINTS);
+        }
+        String unit = granularity == null ? "day" : granularity.trim().toLowerCase();
+        long buckets = switch (unit) {
+            case "day" -> ChronoUnit.DAYS.between(from, to) + 1;
+            case "week" -> ChronoUnit.WEEKS.between(
+                    from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    to.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))) + 1;
+            case "month" -> ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) + 1;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown granularity: " + granularity);
+        };
+        if (buckets > MAX_BUCKETS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "range too large for " + unit + " granularity (max " + MAX_BUCKETS + " buckets)");
+        }
+
+        List<ChartDataResponse> points = new ArrayList<>(Math.min(maxPoints, (int) buckets));
+        LttbDownsampler downsampler = new LttbDownsampler(buckets, maxPoints, points::add);
+        analyticsMapper.streamCompletionSeries(from, to, unit, projectId, priority,
+                context -> downsampler.accept(context.getResultObject()));
+        return points;
+    }
+
+    /**
+     * [from, to] 날짜별 미완료 작업 수 (프로젝트 지정 시 해당 프로젝트만).
+     * 이벤트 로그를 거꾸로 되감아 계산하므로 보관 기간보다 오래된 날짜는 계산할 수 없다.
+     * 오늘 이후는 값이 바뀌지 않으므로 to 는 오늘까지로 자른다 (구간은 최대 보관 기간).
+     */
+    public List<ChartDataResponse> getBurndown(LocalDate from, LocalDate to, Long projectId) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from is after to");
+        }
+        LocalDate today = LocalDate.now();
+        if (from.isAfter(today)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from is after today");
+        }
+        LocalDate until = to.isAfter(today) ? today : to;
+        LocalDate horizon = LocalDate.now().withDayOfMonth(1).minusMonths(taskEventPartitions.getRetentionMonths());
+        if (from.isBefore(horizon)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "task history is kept from " + horizon);
+        }
+        return analyticsMapper.findBurndown(from, until, projectId);
+    }
 }
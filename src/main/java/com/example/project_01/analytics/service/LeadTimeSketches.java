@@ -0,0 +1,177 @@
+package com.example.project_01.analytics.service;
+
+import com.example.project_01.analytics.dto.LeadTimeResponse;
+import com.example.project_01.analytics.dto.LeadTimeSketchRow;
+import com.example.project_01.analytics.mapper.LeadTimeSketchMapper;
+import com.tdunning.math.stats.MergingDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 작업 리드타임(생성 -> 완료, 시간 단위) t-digest 스케치. 프로젝트 x 우선순위마다 하나씩 둔다.
+ * 완료 이벤트는 메모리의 증분 스케치에 쌓고, 주기적으로 DB 행에 병합(flush)한다.
+ * 조회는 저장된 스케치 + 아직 flush 안 된 증분을 합쳐 계산하므로 작업 수와 무관하게 스케치 크기만큼만 든다.
+ */
+@Slf4j
+@Component
+public class LeadTimeSketches {
+
+    private static final double COMPRESSION = 100;
+
+    private record Key(Long projectId, String priority) {
+    }
+
+    private final LeadTimeSketchMapper sketchMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // 아직 DB 에 병합하지 않은 증분. compute/remove 로만 다뤄서 flush 와 기록이 섞이지 않게 한다
+    private final ConcurrentHashMap<Key, MergingDigest> pending = new ConcurrentHashMap<>();
+    // 마지막으로 읽거나 쓴 DB 스케치 (직렬화 상태로 보관, 조회 때마다 새로 푼다)
+    private final ConcurrentHashMap<Key, byte[]> persisted = new ConcurrentHashMap<>();
+
+    public LeadTimeSketches(LeadTimeSketchMapper sketchMapper, PlatformTransactionManager transactionManager) {
+        this.sketchMapper = sketchMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void record(Long projectId, String priority, OffsetDateTime createdAt, OffsetDateTime completedAt) {
+        if (createdAt == null || completedAt == null) {
+            return;
+        }
+        double hours = Math.max(0, Duration.between(createdAt, completedAt).toMillis() / 3_600_000.0);
+        pending.compute(new Key(projectId, priority == null ? "" : priority), (key, digest) -> {
+            MergingDigest target = digest == null ? new MergingDigest(COMPRESSION) : digest;
+            target.add(hours);
+            return target;
+        });
+    }
+
+    /** groupBy: project 또는 priority */
+    public List<LeadTimeResponse> percentiles(String groupBy) {
+        Function<Key, Key> grouping = switch (groupBy == null ? "project" : groupBy) {
+            case "project" -> key -> new Key(key.projectId(), null);
+            case "priority" -> key -> new Key(null, key.priority());
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown groupBy: " + groupBy);
+        };
+
+        Map<Key, MergingDigest> groups = new TreeMap<>(Comparator
+                .comparing(Key::projectId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Key::priority, Comparator.nullsFirst(Comparator.naturalOrder())));
+        persisted.forEach((key, bytes) -> groups
+                .computeIfAbsent(grouping.apply(key), k -> new MergingDigest(COMPRESSION))
+                .add(MergingDigest.fromBytes(ByteBuffer.wrap(bytes))));
+        for (Key key : pending.keySet()) {
+            MergingDigest target = groups.computeIfAbsent(grouping.apply(key), k -> new MergingDigest(COMPRESSION));
+            pending.computeIfPresent(key, (k, digest) -> {
+                target.add(digest);
+                return digest;
+            });
+        }
+
+        List<LeadTimeResponse> result = new ArrayList<>(groups.size());
+        groups.forEach((key, digest) -> {
+            if (digest.size() > 0) {
+                result.add(new LeadTimeResponse(key.projectId(), key.priority(), digest.size(),
+                        round(digest.quantile(0.5)), round(digest.quantile(0.9)), round(digest.quantile(0.99))));
+            }
+        });
+        return result;
+    }
+
+    /** 시작 시 저장된 스케치를 읽고, 테이블이 비어 있으면 완료된 작업으로 한 번 채운다 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (sketchMapper.countSketches() == 0 && sketchMapper.tryLockBackfill()
+                    && sketchMapper.countSketches() == 0) {
+                backfill();
+            }
+        });
+        reload();
+    }
+
+    // 다른 인스턴스가 병합한 결과와 삭제된 프로젝트를 반영
+    private void reload() {
+        Map<Key, byte[]> rows = new HashMap<>();
+        sketchMapper.findAll().forEach(row -> rows.put(new Key(row.getProjectId(), row.getPriority()),
+                row.getDigest()));
+        persisted.keySet().retainAll(rows.keySet());
+        persisted.putAll(rows);
+    }
+
+    private void backfill() {
+        Map<Key, MergingDigest> digests = new HashMap<>();
+        sketchMapper.streamCompletedLeadTimes(context -> {
+            var sample = context.getResultObject();
+            digests.computeIfAbsent(new Key(sample.getProjectId(), sample.getPriority()),
+                    k -> new MergingDigest(COMPRESSION)).add(sample.getHours());
+        });
+        digests.forEach((key, digest) -> sketchMapper.upsert(toRow(key, digest)));
+        log.info("lead-time sketches backfilled: {} sketches", digests.size());
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.lead-time.flush-interval-ms:60000}")
+    public void flush() {
+        for (Key key : new ArrayList<>(pending.keySet())) {
+            MergingDigest delta = pending.remove(key);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                byte[] merged = transactionTemplate.execute(status -> {
+                    MergingDigest digest = sketchMapper.findForUpdate(key.projectId(), key.priority())
+                            .map(row -> MergingDigest.fromBytes(ByteBuffer.wrap(row.getDigest())))
+                            .orElseGet(() -> new MergingDigest(COMPRESSION));
+                    digest.add(delta);
+                    LeadTimeSketchRow row = toRow(key, digest);
+                    sketchMapper.upsert(row);
+                    return row.getDigest();
+                });
+                persisted.put(key, merged);
+            } catch (DataIntegrityViolationException ex) {
+                // 다른 인스턴스의 ProjectPurger 가 프로젝트 행을 지웠다(FK). 다시 넣어도 계속 실패하므로 버린다
+                persisted.remove(key);
+                log.info("lead-time samples dropped for removed project {}", key.projectId());
+            } catch (RuntimeException ex) {
+                // 다음 flush 때 다시 시도
+                pending.merge(key, delta, (current, failed) -> {
+                    current.add(failed);
+                    return current;
+                });
+                log.warn("lead-time sketch flush failed for {}: {}", key, ex.getMessage());
+            }
+        }
+        reload();
+    }
+
+    public void removeProject(Long projectId) {
+        pending.keySet().removeIf(key -> key.projectId().equals(projectId));
+        persisted.keySet().removeIf(key -> key.projectId().equals(projectId));
+    }
+
+    private static LeadTimeSketchRow toRow(Key key, MergingDigest digest) {
+        digest.compress();
+        ByteBuffer buffer = ByteBuffer.allocate(digest.smallByteSize());
+        digest.asSmallBytes(buffer);
+        return new LeadTimeSketchRow(key.projectId(), key.priority(), buffer.array(), digest.size());
+    }
+
+    private static double round(double hours) {
+        return Math.round(hours * 10.0) / 10.0;
+    }
+}
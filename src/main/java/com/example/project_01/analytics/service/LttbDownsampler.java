@@ -0,0 +1,108 @@
+package com.example.project_01.analytics.service;
+
+import com.example.project_01.analytics.dto.ChartDataResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Largest-Triangle-Three-Buckets 다운샘플링을 스트림으로 처리한다.
+ * 전체 점 개수(n)를 미리 알고 있으면 버킷 경계가 정해지므로, 현재 버킷과 다음 버킷의 점만 들고 있으면 된다.
+ * 메모리는 n / maxPoints 에 비례하고, n 이 maxPoints 이하이면 그대로 내보낸다.
+ * x 좌표는 점의 순번(등간격 시계열)을 쓴다.
+ */
+public class LttbDownsampler implements Consumer<ChartDataResponse> {
+
+    private record Point(long x, ChartDataResponse data) {
+    }
+
+    private final long total;
+    private final int threshold;
+    private final double every;
+    private final Consumer<ChartDataResponse> sink;
+
+    private long index;
+    private int streamBucket;
+    private int currentBucket;
+    private Point selected;
+    private List<Point> current = new ArrayList<>();
+    private List<Point> next = new ArrayList<>();
+
+    public LttbDownsampler(long total, int maxPoints, Consumer<ChartDataResponse> sink) {
+        this.total = total;
+        this.threshold = maxPoints;
+        this.every = total > maxPoints ? (double) (total - 2) / (maxPoints - 2) : 0;
+        this.sink = sink;
+    }
+
+    @Override
+    public void accept(ChartDataResponse data) {
+        long x = index++;
+        if (total <= threshold) {
+            sink.accept(data);
+            return;
+        }
+        Point point = new Point(x, data);
+        if (x == 0) {
+            emit(point);
+            return;
+        }
+        // 마지막 점은 threshold - 2 번째 "버킷" 하나로 취급한다
+        int bucket = x == total - 1 ? threshold - 2 : bucketOf(x);
+        while (bucket > currentBucket + 1) {
+            closeCurrent();
+        }
+        (bucket == currentBucket ? current : next).add(point);
+        if (bucket == threshold - 2) {
+            closeCurrent();
+            emit(point);
+        }
+    }
+
+    private int bucketOf(long x) {
+        while (streamBucket < threshold - 3 && x >= start(streamBucket + 1)) {
+            streamBucket++;
+        }
+        return streamBucket;
+    }
+
+    private long start(int bucket) {
+        return (long) Math.floor(bucket * every) + 1;
+    }
+
+    /** 현재 버킷에서 (직전 선택점, 다음 버킷 평균) 과 만드는 삼각형이 가장 큰 점을 고른다 */
+    private void closeCurrent() {
+        double avgX = 0;
+        double avgY = 0;
+        for (Point p : next) {
+            avgX += p.x();
+            avgY += p.data().getValue();
+        }
+        avgX /= next.size();
+        avgY /= next.size();
+
+        double ax = selected.x();
+        double ay = selected.data().getValue();
+        Point best = null;
+        double bestArea = -1;
+        for (Point p : current) {
+            double area = Math.abs((ax - avgX) * (p.data().getValue() - ay) - (ax - p.x()) * (avgY - ay));
+            if (area > bestArea) {
+                bestArea = area;
+                best = p;
+            }
+        }
+        if (best != null) {
+            emit(best);
+        }
+        current = next;
+        next = new ArrayList<>();
+        currentBucket++;
+    }
+
+    private void emit(Point point) {
+        selected = point;
+        sink.accept(point.data());
+    }
+}
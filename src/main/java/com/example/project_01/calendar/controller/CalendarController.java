@@ -1,12 +1,17 @@
 package com.example.project_01.calendar.controller;
 
 import com.example.project_01.calendar.dto.CalendarRequest;
+import com.example.project_01.calendar.dto.FreeSlotResponse;
 import com.example.project_01.calendar.dto.CalendarResponse;
 import com.example.project_01.calendar.service.CalendarService;
+import com.example.project_01.config.FieldSelection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,22 +23,44 @@ public class CalendarController {
 
     // 월별 조회
     @GetMapping
-    public List<CalendarResponse> getMonthly(
+    public MappingJacksonValue getMonthly(
             @RequestParam LocalDate start,
-            @RequestParam LocalDate end) {
-        return service.getMonthly(start, end);
+            @RequestParam LocalDate end,
+            @RequestParam(required = false) String fields) {
+        FieldSelection.Selection selection = CalendarResponse.FIELDS.select(fields);
+        return selection.wrap(service.getMonthly(start, end, selection.columns()));
     }
 
-    // 일정 추가
+    // 빈 시간 찾기: 근무 시간 안에서 duration(분) 이상 비어 있는 구간. includeTasks 면 작업 마감일은 하루 전체를 막는다
+    @GetMapping("/free-slots")
+    public List<FreeSlotResponse> freeSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam int duration,
+            @RequestParam(defaultValue = "false") boolean includeTasks,
+            @RequestParam(defaultValue = "50") int limit) {
+        return service.freeSlots(from, to, duration, includeTasks, limit);
+    }
+
+    // 일정 추가 (다른 일정과 시간이 겹치면 409, allowConflicts=true 면 그대로 저장)
     @PostMapping
-    public void create(@RequestBody CalendarRequest request) {
-        service.create(request);
+    public void create(@RequestBody CalendarRequest request,
+            @RequestParam(defaultValue = "false") boolean allowConflicts) {
+        service.create(request, allowConflicts);
     }
 
     // 일정 수정
     @PutMapping("/{id}")
-    public void update(@PathVariable Long id, @RequestBody CalendarRequest request) {
-        service.update(id, request);
+    public void update(@PathVariable Long id, @RequestBody CalendarRequest request,
+            @RequestParam(defaultValue = "false") boolean allowConflicts) {
+        service.update(id, request, allowConflicts);
+    }
+
+    // 반복 일정의 특정 날짜만 삭제 (예외 날짜로 등록)
+    @DeleteMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<Void> skipOccurrence(@PathVariable Long id, @PathVariable LocalDate date) {
+        service.skipOccurrence(id, date);
+        return ResponseEntity.noContent().build();
     }
 
     // 일정삭제
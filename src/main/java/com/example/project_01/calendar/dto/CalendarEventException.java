@@ -0,0 +1,15 @@
+package com.example.project_01.calendar.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CalendarEventException {
+    private Long eventId;
+    private LocalDate exceptionDate;
+}
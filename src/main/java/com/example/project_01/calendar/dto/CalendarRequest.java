@@ -1,11 +1,18 @@
 package com.example.project_01.calendar.dto;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public record CalendarRequest(
         LocalDate date,
         String title,
         String type,
         String time,
-        String memo) {
+        String memo,
+        String recurFreq, // null 이면 단일 일정
+        Integer recurInterval,
+        LocalDate recurUntil,
+        Integer recurCount,
+        List<LocalDate> exceptionDates,
+        Integer durationMinutes) {
 }
@@ -1,15 +1,35 @@
 package com.example.project_01.calendar.dto;
 
+import com.example.project_01.config.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.List;
 
 @Getter
 @Setter
 @NoArgsConstructor
-public class CalendarResponse {
+@JsonFilter(FieldSelection.FILTER_ID)
+public class CalendarResponse implements Serializable {
+    public static final FieldSelection FIELDS = new FieldSelection()
+            .key("id", "id")
+            .key("date", "event_date")
+            .field("title", "title")
+            .field("type", "event_type")
+            .field("time", "event_time")
+            .field("memo", "memo")
+            .field("durationMinutes", "duration_minutes")
+            .field("recurFreq", "recur_freq")
+            .field("recurInterval", "recur_interval")
+            .field("recurUntil", "recur_until")
+            .field("recurCount", "recur_count")
+            .derived("seriesStart")
+            .derived("exceptionDates");
 
     private Long id;
     private LocalDate date;
@@ -17,5 +37,36 @@ public class CalendarResponse {
     private String type;
     private String time;
     private String memo;
+    private Integer durationMinutes; // null 이면 기본 길이 (event_time 이 없으면 종일)
+
+    // 반복 규칙 (단일 일정이면 recurFreq == null)
+    private String recurFreq; // DAILY, WEEKLY, MONTHLY
+    private Integer recurInterval;
+    private LocalDate recurUntil;
+    private Integer recurCount;
+    @JsonIgnore
+    private LocalDate recurEnd; // until/count 로 계산한 마지막 발생일
+    private LocalDate seriesStart; // 반복 일정의 첫 날짜 (date 는 각 발생일)
+    private List<LocalDate> exceptionDates;
+
+    /** 반복 일정의 한 발생분. 규칙 필드는 그대로 두고 날짜만 바꾼 사본 */
+    public CalendarResponse occurrenceOn(LocalDate occurrenceDate) {
+        CalendarResponse copy = new CalendarResponse();
+        copy.setId(id);
+        copy.setDate(occurrenceDate);
+        copy.setTitle(title);
+        copy.setType(type);
+        copy.setTime(time);
+        copy.setMemo(memo);
+        copy.setDurationMinutes(durationMinutes);
+        copy.setRecurFreq(recurFreq);
+        copy.setRecurInterval(recurInterval);
+        copy.setRecurUntil(recurUntil);
+        copy.setRecurCount(recurCount);
+        copy.setRecurEnd(recurEnd);
+        copy.setSeriesStart(seriesStart);
+        copy.setExceptionDates(exceptionDates);
+        return copy;
+    }
 
 }
\ No newline at end of file
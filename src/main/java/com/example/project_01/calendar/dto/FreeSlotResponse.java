@@ -0,0 +1,9 @@
+package com.example.project_01.calendar.dto;
+
+import java.time.LocalDateTime;
+
+public record FreeSlotResponse(
+        LocalDateTime start,
+        LocalDateTime end,
+        long minutes) {
+}
@@ -1,7 +1,8 @@
 package com.example.project_01.calendar.mapper;
 
-import com.example.project_01.calendar.dto.CalendarRequest;
+import com.example.project_01.calendar.dto.CalendarEventException;
 import com.example.project_01.calendar.dto.CalendarResponse;
+import com.example.project_01.task.dto.TaskResponse;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -11,13 +12,23 @@ import java.util.Optional;
 
 @Mapper
 public interface CalendarMapper {
-    List<CalendarResponse> findByDateRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+    List<CalendarResponse> findByDateRange(@Param("start") LocalDate start, @Param("end") LocalDate end,
+            @Param("columns") List<String> columns);
+
+    List<CalendarEventException> findExceptionDates(@Param("eventIds") List<Long> eventIds,
+            @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    List<TaskResponse> findTaskDeadlines(@Param("start") LocalDate start, @Param("end") LocalDate end);
 
     Optional<CalendarResponse> findById(Long id);
 
     void insertEvent(CalendarResponse event);
 
-    void updateEvent(@Param("id") Long id, @Param("request") CalendarRequest request);
+    void updateEvent(@Param("id") Long id, @Param("event") CalendarResponse event);
+
+    void insertExceptionDates(@Param("id") Long id, @Param("dates") List<LocalDate> dates);
+
+    void deleteExceptionDates(@Param("id") Long id);
 
     void deleteEvent(Long id);
 }
@@ -0,0 +1,261 @@
+package com.example.project_01.calendar.service;
+
+import com.example.project_01.calendar.dto.CalendarResponse;
+import com.example.project_01.calendar.dto.FreeSlotResponse;
+import com.example.project_01.calendar.mapper.CalendarMapper;
+import com.example.project_01.config.CacheInvalidationBus;
+import com.example.project_01.config.ReadWriteRoutingDataSource;
+import com.example.project_01.task.dto.TaskResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * 충돌 검사와 빈 시간 찾기에 쓰는 일정 구간 인덱스.
+ * 오늘 기준 활성 구간(past-days ~ ahead-days)의 발생분을 IntervalTree 로 만들어 두고, 일정이 바뀌면(커밋 후) 버린다.
+ * 다른 인스턴스의 일정 변경은 CacheInvalidationBus 알림으로, 작업 마감일은 refresh-interval 마다 다시 읽어 반영한다.
+ * 활성 구간 밖은 그 구간만 읽어 임시로 만든다.
+ * event_time 이 없는 종일 일정은 시간을 차지하지 않고, 작업 마감일은 요청한 경우에만 그날 하루를 막는다.
+ * 시각은 벽시계 기준 분(epoch minute, 시간대 없음)으로 다룬다.
+ */
+@Component
+public class CalendarIntervalIndex {
+
+    public record Busy(String kind, Long id, String title, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record Snapshot(LocalDate from, LocalDate to, IntervalTree<Busy> events, IntervalTree<Busy> tasks,
+                            long version, long builtAt) {
+
+        boolean covers(LocalDate start, LocalDate end) {
+            return !start.isBefore(from) && !end.isAfter(to);
+        }
+    }
+
+    private final CalendarMapper calendarMapper;
+    private final int pastDays;
+    private final int aheadDays;
+    private final long refreshNanos;
+    private final int defaultDurationMinutes;
+    private final LocalTime workStart;
+    private final LocalTime workEnd;
+    private final int maxRangeDays;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public CalendarIntervalIndex(CalendarMapper calendarMapper, CacheInvalidationBus cacheInvalidation,
+            @Value("${calendar.interval-index.past-days:31}") int pastDays,
+            @Value("${calendar.interval-index.ahead-days:366}") int aheadDays,
+            @Value("${calendar.interval-index.refresh-interval:30s}") Duration refreshInterval,
+            @Value("${calendar.interval-index.default-duration-minutes:60}") int defaultDurationMinutes,
+            @Value("${calendar.free-slots.work-start:09:00}") String workStart,
+            @Value("${calendar.free-slots.work-end:18:00}") String workEnd,
+            @Value("${calendar.free-slots.max-range-days:31}") int maxRangeDays) {
+        this.calendarMapper = calendarMapper;
+        this.pastDays = pastDays;
+        this.aheadDays = aheadDays;
+        this.refreshNanos = refreshInterval.toNanos();
+        this.defaultDurationMinutes = defaultDurationMinutes;
+        this.workStart = LocalTime.parse(workStart);
+        this.workEnd = LocalTime.parse(workEnd);
+        this.maxRangeDays = maxRangeDays;
+        cacheInvalidation.onRemoteInvalidation(CalendarMapper.class, this::invalidate);
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * event 의 발생분과 겹치는 다른 일정 (최대 limit 개). 반복 일정은 활성 구간 안의 발생분만 본다.
+     * loader 는 [from, to] 의 발생분 목록 (CalendarService 의 월 캐시 조회)
+     */
+    public List<Busy> conflicts(CalendarResponse event, Set<LocalDate> exceptionDates, Long ignoreId, int limit,
+            BiFunction<LocalDate, LocalDate, List<CalendarResponse>> loader) {
+        LocalTime time = parseTime(event.getTime());
+        List<LocalDate> dates = time == null ? List.of() : occurrenceDates(event, exceptionDates);
+        if (dates.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = snapshot(dates.get(0), dates.get(dates.size() - 1), loader);
+        long duration = durationOf(event);
+        List<Busy> found = new ArrayList<>();
+        for (LocalDate date : dates) {
+            long start = epochMinute(date.atTime(time));
+            current.events().forEachOverlap(start, start + duration, interval -> {
+                Busy busy = interval.value();
+                if (found.size() < limit && !busy.id().equals(ignoreId)) {
+                    found.add(busy);
+                }
+            });
+            if (found.size() >= limit) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /** 근무 시간(work-start ~ work-end) 안에서 durationMinutes 이상 비어 있는 구간을 앞에서부터 limit 개 */
+    public List<FreeSlotResponse> freeSlots(LocalDateTime from, LocalDateTime to, int durationMinutes,
+            boolean includeTasks, int limit, BiFunction<LocalDate, LocalDate, List<CalendarResponse>> loader) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        if (ChronoUnit.DAYS.between(from.toLocalDate(), to.toLocalDate()) > maxRangeDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "range must be <= " + maxRangeDays + " days");
+        }
+        if (durationMinutes < 1 || durationMinutes > 1440) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "duration must be 1..1440 minutes");
+        }
+        if (limit < 1 || limit > 500) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be 1..500");
+        }
+
+        Snapshot current = snapshot(from.toLocalDate(), to.toLocalDate(), loader);
+        List<FreeSlotResponse> slots = new ArrayList<>();
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(to.toLocalDate()) && slots.size() < limit;
+                day = day.plusDays(1)) {
+            // work-end 가 work-start 보다 이르거나 같으면 자정까지
+            LocalDateTime dayEnd = workEnd.isAfter(workStart) ? day.atTime(workEnd) : day.plusDays(1).atStartOfDay();
+            long open = epochMinute(max(from, day.atTime(workStart)));
+            long close = epochMinute(min(to, dayEnd));
+            if (open >= close) {
+                continue;
+            }
+            List<IntervalTree.Interval<Busy>> busy = current.events().overlaps(open, close);
+            if (includeTasks) {
+                busy.addAll(current.tasks().overlaps(open, close));
+                busy.sort(Comparator.comparingLong(IntervalTree.Interval::start));
+            }
+            long cursor = open;
+            for (IntervalTree.Interval<Busy> interval : busy) {
+                if (interval.start() - cursor >= durationMinutes && slots.size() < limit) {
+                    slots.add(slot(cursor, interval.start()));
+                }
+                cursor = Math.max(cursor, interval.end());
+                if (cursor >= close) {
+                    break;
+                }
+            }
+            if (close - cursor >= durationMinutes && slots.size() < limit) {
+                slots.add(slot(cursor, close));
+            }
+        }
+        return slots;
+    }
+
+    private Snapshot snapshot(LocalDate start, LocalDate end,
+            BiFunction<LocalDate, LocalDate, List<CalendarResponse>> loader) {
+        Snapshot current = snapshot;
+        if (isUsable(current, start, end)) {
+            return current;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(pastDays);
+        LocalDate to = today.plusDays(aheadDays);
+        if (start.isBefore(from) || end.isAfter(to)) {
+            // 활성 구간 밖: 전날 밤부터 이어지는 일정까지 읽어서 한 번 쓰고 버린다
+            return build(start.minusDays(1), end, loader, -1);
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isUsable(current, start, end)) {
+                return current;
+            }
+            long expected = version.get();
+            Snapshot built = build(from, to, loader, expected);
+            // 만드는 동안 무효화됐거나 replica 에서 읽었으면 이번 조회에만 쓴다
+            if (version.get() == expected && !ReadWriteRoutingDataSource.readsFromReplica()) {
+                snapshot = built;
+            }
+            return built;
+        }
+    }
+
+    private boolean isUsable(Snapshot current, LocalDate start, LocalDate end) {
+        return current != null && current.version() == version.get()
+                && System.nanoTime() - current.builtAt() < refreshNanos && current.covers(start, end);
+    }
+
+    private Snapshot build(LocalDate from, LocalDate to,
+            BiFunction<LocalDate, LocalDate, List<CalendarResponse>> loader, long expectedVersion) {
+        List<IntervalTree.Interval<Busy>> events = new ArrayList<>();
+        for (CalendarResponse occurrence : loader.apply(from, to)) {
+            LocalTime time = parseTime(occurrence.getTime());
+            if (time == null) {
+                continue;
+            }
+            LocalDateTime start = occurrence.getDate().atTime(time);
+            LocalDateTime end = start.plusMinutes(durationOf(occurrence));
+            events.add(new IntervalTree.Interval<>(epochMinute(start), epochMinute(end),
+                    new Busy("event", occurrence.getId(), occurrence.getTitle(), start, end)));
+        }
+        List<IntervalTree.Interval<Busy>> tasks = new ArrayList<>();
+        for (TaskResponse task : calendarMapper.findTaskDeadlines(from, to)) {
+            LocalDateTime start = task.getDeadline().atStartOfDay();
+            LocalDateTime end = start.plusDays(1);
+            tasks.add(new IntervalTree.Interval<>(epochMinute(start), epochMinute(end),
+                    new Busy("task", task.getTaskId(), task.getTitle(), start, end)));
+        }
+        return new Snapshot(from, to, new IntervalTree<>(events), new IntervalTree<>(tasks), expectedVersion,
+                System.nanoTime());
+    }
+
+    private List<LocalDate> occurrenceDates(CalendarResponse event, Set<LocalDate> exceptionDates) {
+        Recurrence recurrence = Recurrence.of(event.getRecurFreq(), event.getRecurInterval(),
+                event.getRecurUntil(), event.getRecurCount(), exceptionDates);
+        if (recurrence == null) {
+            return List.of(event.getDate());
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate from = max(event.getDate(), today.minusDays(pastDays));
+        LocalDate to = today.plusDays(aheadDays);
+        List<LocalDate> dates = new ArrayList<>();
+        if (!from.isAfter(to)) {
+            recurrence.occurrences(event.getDate(), from, to).forEachRemaining(dates::add);
+        }
+        return dates;
+    }
+
+    private long durationOf(CalendarResponse event) {
+        return event.getDurationMinutes() == null ? defaultDurationMinutes : event.getDurationMinutes();
+    }
+
+    /** "HH:mm" 또는 "HH:mm:ss". 비었거나 읽을 수 없으면 종일 일정으로 본다 */
+    private static LocalTime parseTime(String time) {
+        if (time == null || time.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalTime.parse(time.trim());
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private static long epochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static FreeSlotResponse slot(long start, long end) {
+        return new FreeSlotResponse(LocalDateTime.ofEpochSecond(start * 60, 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(end * 60, 0, ZoneOffset.UTC), end - start);
+    }
+
+    private static <T extends Comparable<? super T>> T max(T a, T b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static <T extends Comparable<? super T>> T min(T a, T b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
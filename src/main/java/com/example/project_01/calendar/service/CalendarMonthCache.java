@@ -0,0 +1,103 @@
+package com.example.project_01.calendar.service;
+
+import com.example.project_01.calendar.dto.CalendarResponse;
+import com.example.project_01.calendar.mapper.CalendarMapper;
+import com.example.project_01.config.CacheInvalidationBus;
+import com.example.project_01.config.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 월 단위 일정 캐시 (LRU). 값은 그 달에 속하는 발생분 목록(반복 일정 전개 후)이다.
+ * 로딩 중에 무효화가 끼어들면 버전이 바뀌므로 오래된 결과를 다시 넣지 않는다. replica 에서 읽은 조각도 넣지 않는다.
+ * 다른 인스턴스에서 일정이 바뀌면 CacheInvalidationBus 알림을 받아 전부 버린다.
+ */
+@Component
+public class CalendarMonthCache {
+
+    private final int maxMonths;
+    private final Map<YearMonth, List<CalendarResponse>> months;
+    private final Map<YearMonth, Long> versions = new HashMap<>();
+    private long clearVersion;
+
+    public CalendarMonthCache(CacheInvalidationBus cacheInvalidation,
+            @Value("${calendar.cache.max-months:48}") int maxMonths) {
+        this.maxMonths = maxMonths;
+        this.months = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearMonth, List<CalendarResponse>> eldest) {
+                return size() > CalendarMonthCache.this.maxMonths;
+            }
+        };
+        cacheInvalidation.onRemoteInvalidation(CalendarMapper.class, this::clear);
+    }
+
+    /** [start, end] 에 걸친 월 조각을 캐시에서 꺼내거나 loader 로 채워서 이어 붙인다. */
+    public List<CalendarResponse> get(LocalDate start, LocalDate end, Function<YearMonth, List<CalendarResponse>> loader) {
+        List<CalendarResponse> result = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+            for (CalendarResponse event : slice(month, loader)) {
+                if (!event.getDate().isBefore(start) && !event.getDate().isAfter(end)) {
+                    result.add(event);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<CalendarResponse> slice(YearMonth month, Function<YearMonth, List<CalendarResponse>> loader) {
+        long version;
+        synchronized (this) {
+            List<CalendarResponse> cached = months.get(month);
+            if (cached != null) {
+                return cached;
+            }
+            version = versionOf(month);
+        }
+        List<CalendarResponse> loaded = List.copyOf(loader.apply(month));
+        synchronized (this) {
+            if (versionOf(month) == version && !ReadWriteRoutingDataSource.readsFromReplica()) {
+                months.put(month, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(YearMonth month) {
+        versions.merge(month, 1L, Long::sum);
+        months.remove(month);
+    }
+
+    /**
+     * from 이 속한 달부터 to 가 속한 달까지. to 가 null 이거나 캐시 크기보다 긴 구간이면
+     * 캐시에 있는 from 이후 달을 모두 버린다 (무기한 반복 일정)
+     */
+    public synchronized void invalidateRange(LocalDate from, LocalDate to) {
+        YearMonth first = YearMonth.from(from);
+        if (to == null || first.plusMonths(maxMonths).isBefore(YearMonth.from(to))) {
+            new ArrayList<>(months.keySet()).stream()
+                    .filter(m -> !m.isBefore(first))
+                    .forEach(this::invalidate);
+            // 아직 캐시에 없지만 로딩 중인 달도 버리도록 이후 전체 버전을 올린다
+            clearVersion++;
+            return;
+        }
+        for (YearMonth month = first; !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            invalidate(month);
+        }
+    }
+
+    public synchronized void clear() {
+        clearVersion++;
+        months.clear();
+    }
+
+    private long versionOf(YearMonth month) {
+        return versions.getOrDefault(month, 0L) + clearVersion;
+    }
+}
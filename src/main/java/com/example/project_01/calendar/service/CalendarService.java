@@ -1,46 +1,192 @@
 package com.example.project_01.calendar.service;
 
+import com.example.project_01.calendar.dto.CalendarEventException;
 import com.example.project_01.calendar.dto.CalendarRequest;
 import com.example.project_01.calendar.dto.CalendarResponse;
+import com.example.project_01.calendar.dto.FreeSlotResponse;
 import com.example.project_01.calendar.mapper.CalendarMapper;
+import com.example.project_01.config.TransactionHooks;
+import com.example.project_01.reminder.service.DeadlineReminders;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CalendarService {
 
+    // 반복 일정 전개에 필요한 컬럼 (?fields= 로 일부만 요청해도 항상 조회)
+    private static final List<String> RECURRENCE_COLUMNS =
+            List.of("recur_freq", "recur_interval", "recur_until", "recur_count", "recur_end");
+
     private final CalendarMapper calendarMapper;
+    private final CalendarMonthCache monthCache;
+    private final CalendarIntervalIndex intervalIndex;
+    private final DeadlineReminders deadlineReminders;
+
+    /**
+     * 전체 필드 조회는 월 단위 캐시 조각을 이어 붙여 만든다.
+     * ?fields= 부분 조회는 캐시(전체 행)를 거치지 않고 필요한 컬럼만 DB 에서 읽는다.
+     */
+    public List<CalendarResponse> getMonthly(LocalDate start, LocalDate end, List<String> columns) {
+        if (columns != null) {
+            return loadRange(start, end, columns);
+        }
+        return occurrences(start, end);
+    }
+
+    private List<CalendarResponse> loadRange(LocalDate start, LocalDate end, List<String> columns) {
+        List<CalendarResponse> events = calendarMapper.findByDateRange(start, end, withRecurrenceColumns(columns));
+
+        List<Long> recurringIds = events.stream()
+                .filter(e -> e.getRecurFreq() != null)
+                .map(CalendarResponse::getId)
+                .toList();
+        List<CalendarEventException> exceptions = recurringIds.isEmpty()
+                ? List.of()
+                : calendarMapper.findExceptionDates(recurringIds, start, end);
 
-    public List<CalendarResponse> getMonthly(LocalDate start, LocalDate end) {
-        return calendarMapper.findByDateRange(start, end);
+        List<CalendarResponse> occurrences = new ArrayList<>();
+        OccurrenceIterator.of(events, exceptions, start, end).forEachRemaining(occurrences::add);
+        return occurrences;
     }
 
-    public void create(CalendarRequest request) {
+    // 월 캐시와 구간 인덱스를 채우는 조회라 primary 로 읽는다
+    public List<FreeSlotResponse> freeSlots(LocalDateTime from, LocalDateTime to, int durationMinutes,
+            boolean includeTasks, int limit) {
+        return intervalIndex.freeSlots(from, to, durationMinutes, includeTasks, limit, this::occurrences);
+    }
+
+    public void create(CalendarRequest request, boolean allowConflicts) {
+        CalendarResponse event = toEvent(request);
+        if (!allowConflicts) {
+            checkConflicts(event, request, null);
+        }
+        calendarMapper.insertEvent(event);
+        saveExceptionDates(event.getId(), request);
+        invalidateAfterCommit(event);
+        TransactionHooks.afterCommit(() -> deadlineReminders.eventChanged(event.getId()));
+    }
+
+    public void update(Long id, CalendarRequest request, boolean allowConflicts) {
+        CalendarResponse before = calendarMapper.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("event not found: " + id));
+        CalendarResponse after = toEvent(request);
+        if (!allowConflicts) {
+            checkConflicts(after, request, id);
+        }
+        calendarMapper.updateEvent(id, after);
+        calendarMapper.deleteExceptionDates(id);
+        saveExceptionDates(id, request);
+        // 날짜가 바뀐 일정은 옮기기 전/후 달을 모두 무효화
+        invalidateAfterCommit(before);
+        invalidateAfterCommit(after);
+        TransactionHooks.afterCommit(() -> deadlineReminders.eventChanged(id));
+    }
+
+    // 반복 일정에서 특정 날짜 하나만 빼기
+    public void skipOccurrence(Long id, LocalDate date) {
+        CalendarResponse event = calendarMapper.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Event not found: " + id));
+        if (event.getRecurFreq() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "event is not recurring: " + id);
+        }
+        calendarMapper.insertExceptionDates(id, List.of(date));
+        TransactionHooks.afterCommit(() -> {
+            monthCache.invalidate(YearMonth.from(date));
+            intervalIndex.invalidate();
+            deadlineReminders.eventChanged(id);
+        });
+    }
+
+    public void delete(Long id) {
+        CalendarResponse event = calendarMapper.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Event not found: " + id));
+        calendarMapper.deleteEvent(id);
+        invalidateAfterCommit(event);
+        TransactionHooks.afterCommit(() -> deadlineReminders.eventChanged(id));
+    }
+
+    /** 시간이 정해진 일정이 다른 일정과 겹치면 409. 같은 일정(수정 전 자신)은 빼고 본다 */
+    private void checkConflicts(CalendarResponse event, CalendarRequest request, Long id) {
+        Set<LocalDate> exceptionDates = request.exceptionDates() == null
+                ? Set.of() : Set.copyOf(request.exceptionDates());
+        List<CalendarIntervalIndex.Busy> conflicts =
+                intervalIndex.conflicts(event, exceptionDates, id, 5, this::occurrences);
+        if (!conflicts.isEmpty()) {
+            String overlapping = conflicts.stream()
+                    .map(busy -> "#" + busy.id() + " " + busy.title()
+                            + " (" + busy.start() + " ~ " + busy.end().toLocalTime() + ")")
+                    .collect(Collectors.joining(", "));
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "overlaps with " + overlapping);
+        }
+    }
+
+    // 구간 인덱스용 발생분 조회 (월 캐시를 같이 쓴다)
+    private List<CalendarResponse> occurrences(LocalDate start, LocalDate end) {
+        return monthCache.get(start, end, month -> loadRange(month.atDay(1), month.atEndOfMonth(), null));
+    }
+
+    private void invalidateAfterCommit(CalendarResponse event) {
+        TransactionHooks.afterCommit(intervalIndex::invalidate);
+        LocalDate date = event.getDate();
+        if (event.getRecurFreq() == null) {
+            TransactionHooks.afterCommit(() -> monthCache.invalidate(YearMonth.from(date)));
+        } else {
+            LocalDate end = event.getRecurEnd();
+            TransactionHooks.afterCommit(() -> monthCache.invalidateRange(date, end));
+        }
+    }
+
+    private CalendarResponse toEvent(CalendarRequest request) {
         CalendarResponse event = new CalendarResponse();
         event.setDate(request.date());
         event.setTitle(request.title());
         event.setType(request.type());
         event.setTime(request.time());
         event.setMemo(request.memo());
-        calendarMapper.insertEvent(event);
+        Integer duration = request.durationMinutes();
+        if (duration != null && (duration < 1 || duration > 1440)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "durationMinutes must be 1..1440");
+        }
+        event.setDurationMinutes(duration);
+
+        Recurrence recurrence = Recurrence.of(request.recurFreq(), request.recurInterval(),
+                request.recurUntil(), request.recurCount(), null);
+        if (recurrence != null) {
+            if (request.recurUntil() != null && request.recurUntil().isBefore(request.date())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "recurUntil is before date");
+            }
+            event.setRecurFreq(recurrence.frequency().name());
+            event.setRecurInterval(recurrence.interval());
+            event.setRecurUntil(recurrence.until());
+            event.setRecurCount(recurrence.count());
+            event.setRecurEnd(recurrence.lastOccurrence(request.date()));
+        }
+        return event;
     }
 
-    public void update(Long id, CalendarRequest request) {
-        calendarMapper.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("event not found: " + id));
-        calendarMapper.updateEvent(id, request);
+    private void saveExceptionDates(Long id, CalendarRequest request) {
+        if (request.recurFreq() != null && request.exceptionDates() != null && !request.exceptionDates().isEmpty()) {
+            calendarMapper.insertExceptionDates(id, request.exceptionDates());
+        }
     }
 
-    public void delete(Long id) {
-        calendarMapper.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("Event not found: " + id));
-        calendarMapper.deleteEvent(id);
+    private static List<String> withRecurrenceColumns(List<String> columns) {
+        if (columns == null) {
+            return null;
+        }
+        Set<String> merged = new LinkedHashSet<>(columns);
+        merged.addAll(RECURRENCE_COLUMNS);
+        return new ArrayList<>(merged);
     }
 }
@@ -0,0 +1,77 @@
+package com.example.project_01.calendar.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 정적 구간 트리. 시작값 순으로 정렬한 배열을 가운데 원소가 루트인 균형 이진 트리로 보고,
+ * 노드마다 서브트리의 최대 끝값을 둔다. 겹침 조회는 O(log n + k) 이고 결과는 시작값 순서로 나온다.
+ * 구간은 [start, end) 반열린 구간. 만든 뒤에는 바뀌지 않으므로 여러 스레드가 같이 읽어도 된다.
+ */
+public final class IntervalTree<T> {
+
+    public record Interval<T>(long start, long end, T value) {
+    }
+
+    private final List<Interval<T>> sorted;
+    private final long[] maxEnds;
+
+    public IntervalTree(Collection<Interval<T>> intervals) {
+        List<Interval<T>> copy = new ArrayList<>(intervals);
+        copy.sort(Comparator.comparingLong(Interval<T>::start).thenComparingLong(Interval::end));
+        this.sorted = List.copyOf(copy);
+        this.maxEnds = new long[copy.size()];
+        fillMaxEnds(0, copy.size() - 1);
+    }
+
+    public int size() {
+        return sorted.size();
+    }
+
+    /** [from, to) 와 겹치는 구간을 시작값 순서로 넘긴다 */
+    public void forEachOverlap(long from, long to, Consumer<Interval<T>> action) {
+        if (from < to) {
+            search(0, sorted.size() - 1, from, to, action);
+        }
+    }
+
+    public List<Interval<T>> overlaps(long from, long to) {
+        List<Interval<T>> result = new ArrayList<>();
+        forEachOverlap(from, to, result::add);
+        return result;
+    }
+
+    private long fillMaxEnds(int lo, int hi) {
+        if (lo > hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(sorted.get(mid).end(), Math.max(fillMaxEnds(lo, mid - 1), fillMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private void search(int lo, int hi, long from, long to, Consumer<Interval<T>> action) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // 서브트리에서 가장 늦게 끝나는 구간도 from 이전에 끝나면 볼 필요가 없다
+        if (maxEnds[mid] <= from) {
+            return;
+        }
+        search(lo, mid - 1, from, to, action);
+        Interval<T> node = sorted.get(mid);
+        // 이 노드와 오른쪽 서브트리는 모두 to 이후에 시작한다
+        if (node.start() >= to) {
+            return;
+        }
+        if (node.end() > from) {
+            action.accept(node);
+        }
+        search(mid + 1, hi, from, to, action);
+    }
+}
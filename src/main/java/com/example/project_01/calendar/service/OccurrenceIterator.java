@@ -0,0 +1,71 @@
+package com.example.project_01.calendar.service;
+
+import com.example.project_01.calendar.dto.CalendarEventException;
+import com.example.project_01.calendar.dto.CalendarResponse;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 단일 일정과 반복 규칙들을 받아 [from, to] 안의 발생분을 (날짜, id) 순서로 하나씩 만든다.
+ * 규칙마다 다음 발생일 하나만 힙에 올려 두므로 메모리는 규칙 수에 비례한다.
+ */
+public class OccurrenceIterator implements Iterator<CalendarResponse> {
+
+    private record Cursor(CalendarResponse template, Iterator<LocalDate> dates, LocalDate head) {
+    }
+
+    private final PriorityQueue<Cursor> heap = new PriorityQueue<>(
+            Comparator.comparing(Cursor::head).thenComparing(c -> c.template().getId()));
+
+    public OccurrenceIterator(List<CalendarResponse> events, Map<Long, Set<LocalDate>> exceptionDates,
+            LocalDate from, LocalDate to) {
+        for (CalendarResponse event : events) {
+            Recurrence recurrence = Recurrence.of(event.getRecurFreq(), event.getRecurInterval(),
+                    event.getRecurUntil(), event.getRecurCount(), exceptionDates.get(event.getId()));
+            Iterator<LocalDate> dates;
+            if (recurrence == null) {
+                dates = List.of(event.getDate()).iterator();
+            } else {
+                event.setSeriesStart(event.getDate());
+                dates = recurrence.occurrences(event.getDate(), from, to);
+            }
+            push(event, dates);
+        }
+    }
+
+    /** findExceptionDates 결과를 일정별로 묶어 각 반복 일정의 exceptionDates 에도 채운 뒤 만든다 */
+    public static OccurrenceIterator of(List<CalendarResponse> events, List<CalendarEventException> exceptions,
+            LocalDate from, LocalDate to) {
+        Map<Long, Set<LocalDate>> exceptionDates = exceptions.stream()
+                .collect(Collectors.groupingBy(CalendarEventException::getEventId,
+                        Collectors.mapping(CalendarEventException::getExceptionDate, Collectors.toSet())));
+        exceptionDates.forEach((id, dates) -> events.stream()
+                .filter(e -> id.equals(e.getId()))
+                .forEach(e -> e.setExceptionDates(dates.stream().sorted().toList())));
+        return new OccurrenceIterator(events, exceptionDates, from, to);
+    }
+
+    private void push(CalendarResponse template, Iterator<LocalDate> dates) {
+        if (dates.hasNext()) {
+            heap.add(new Cursor(template, dates, dates.next()));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heap.isEmpty();
+    }
+
+    @Override
+    public CalendarResponse next() {
+        Cursor cursor = heap.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        push(cursor.template(), cursor.dates());
+        CalendarResponse template = cursor.template();
+        return template.getRecurFreq() == null ? template : template.occurrenceOn(cursor.head());
+    }
+}
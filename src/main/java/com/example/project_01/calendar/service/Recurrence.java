@@ -0,0 +1,126 @@
+package com.example.project_01.calendar.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 반복 규칙 (DAILY / WEEKLY / MONTHLY + interval, until 또는 count, 예외 날짜).
+ * n 번째 발생일은 항상 시작일에서 직접 계산하므로 구간 앞부분을 건너뛸 때 반복할 필요가 없다.
+ * MONTHLY 는 해당 월에 같은 날짜가 없으면 월말로 맞춘다 (1/31 -> 2/28).
+ */
+public record Recurrence(Frequency frequency, int interval, LocalDate until, Integer count,
+        Set<LocalDate> exceptionDates) {
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    public Recurrence {
+        if (interval < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "recurInterval must be >= 1");
+        }
+        if (count != null && count < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "recurCount must be >= 1");
+        }
+        exceptionDates = exceptionDates == null ? Set.of() : Set.copyOf(exceptionDates);
+    }
+
+    /** 규칙이 없으면(단일 일정) null */
+    public static Recurrence of(String frequency, Integer interval, LocalDate until, Integer count,
+            Set<LocalDate> exceptionDates) {
+        if (frequency == null || frequency.isBlank()) {
+            return null;
+        }
+        Frequency parsed;
+        try {
+            parsed = Frequency.valueOf(frequency.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown recurFreq: " + frequency);
+        }
+        return new Recurrence(parsed, interval == null ? 1 : interval, until, count, exceptionDates);
+    }
+
+    public LocalDate occurrence(LocalDate seriesStart, long n) {
+        return switch (frequency) {
+            case DAILY -> seriesStart.plusDays(n * interval);
+            case WEEKLY -> seriesStart.plusWeeks(n * interval);
+            case MONTHLY -> seriesStart.plusMonths(n * interval);
+        };
+    }
+
+    /** 마지막 발생일. until/count 둘 다 없으면 null (무기한) */
+    public LocalDate lastOccurrence(LocalDate seriesStart) {
+        LocalDate last = until;
+        if (count != null) {
+            LocalDate byCount = occurrence(seriesStart, count - 1L);
+            last = last == null || byCount.isBefore(last) ? byCount : last;
+        }
+        return last;
+    }
+
+    /** [from, to] 안의 발생일을 오름차순으로 만든다. 예외 날짜는 건너뛰지만 count 에는 포함된다. */
+    public Iterator<LocalDate> occurrences(LocalDate seriesStart, LocalDate from, LocalDate to) {
+        LocalDate last = lastOccurrence(seriesStart);
+        LocalDate end = last != null && last.isBefore(to) ? last : to;
+        return new Iterator<>() {
+            private long n = firstIndexOnOrAfter(seriesStart, from);
+            private LocalDate next = advance();
+
+            private LocalDate advance() {
+                while (true) {
+                    if (count != null && n >= count) {
+                        return null;
+                    }
+                    LocalDate date = occurrence(seriesStart, n++);
+                    if (date.isAfter(end)) {
+                        return null;
+                    }
+                    if (!exceptionDates.contains(date)) {
+                        return date;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDate next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LocalDate current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    private long firstIndexOnOrAfter(LocalDate seriesStart, LocalDate from) {
+        if (!from.isAfter(seriesStart)) {
+            return 0;
+        }
+        long n = switch (frequency) {
+            case DAILY -> ceilDiv(ChronoUnit.DAYS.between(seriesStart, from), interval);
+            case WEEKLY -> ceilDiv(ChronoUnit.DAYS.between(seriesStart, from), 7L * interval);
+            case MONTHLY -> ChronoUnit.MONTHS.between(seriesStart.withDayOfMonth(1), from.withDayOfMonth(1)) / interval;
+        };
+        // 월말 보정 때문에 MONTHLY 는 한두 칸 앞에서 시작할 수 있다
+        while (occurrence(seriesStart, n).isBefore(from)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.project_01.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 대시보드 집계 조회용 격벽. 컨트롤러가 CompletableFuture 로 넘기면 전용 스레드에서 실행하므로
+ * 집계가 몰려도 Tomcat 스레드는 CRUD 요청에 남는다. 대기열까지 차면 바로 503.
+ * 이 스레드에서 잡는 커넥션은 ReadWriteRoutingDataSource 가 analytics 풀로 보낸다.
+ */
+@Component
+public class AnalyticsBulkhead implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> WORKER = ThreadLocal.withInitial(() -> false);
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public AnalyticsBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        BulkheadProperties.Analytics settings = properties.getAnalytics();
+        ThreadFactory threads = new ThreadFactory() {
+            private int count;
+
+            @Override
+            public synchronized Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(() -> {
+                    WORKER.set(true);
+                    runnable.run();
+                }, "analytics-" + ++count);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        this.executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.getQueueCapacity()), threads, new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("bulkhead.rejected").tag("name", "analytics").register(meterRegistry);
+        Gauge.builder("bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("name", "analytics").register(meterRegistry);
+        Gauge.builder("bulkhead.queued", executor, e -> e.getQueue().size())
+                .tag("name", "analytics").register(meterRegistry);
+        Gauge.builder("bulkhead.saturation", executor,
+                        e -> (double) (e.getActiveCount() + e.getQueue().size())
+                                / (e.getMaximumPoolSize() + settings.getQueueCapacity()))
+                .tag("name", "analytics").register(meterRegistry);
+    }
+
+    /** 현재 스레드가 집계 격벽의 작업자인지 */
+    public static boolean isWorkerThread() {
+        return WORKER.get();
+    }
+
+    /** 요청의 RequestDeadline 을 작업자 스레드로 넘긴다. 대기열에 있는 사이 마감/끊김이 되면 실행하지 않는다 */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (deadline == null) {
+                    return task.get();
+                }
+                if (deadline.isOver()) {
+                    throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "request deadline exceeded");
+                }
+                return RequestDeadline.callWith(deadline, task);
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "analytics is busy, try again shortly");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.project_01.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * bulkhead.* 설정. 대시보드 집계(analytics/main)와 나머지 CRUD 요청이 스레드와 커넥션을 나눠 쓴다.
+ * 어느 쪽이든 꽉 차면 기다리지 않고 503 을 돌려준다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+
+    private Analytics analytics = new Analytics();
+    private Crud crud = new Crud();
+    private Transfer transfer = new Transfer();
+
+    @Data
+    public static class Analytics {
+        /** 집계 조회를 실행하는 전용 스레드 수 */
+        private int threads = 4;
+        /** 스레드가 모두 바쁠 때 기다릴 수 있는 요청 수. 넘으면 503 */
+        private int queueCapacity = 20;
+        /** 집계 스레드만 쓰는 primary 커넥션 풀 크기 (0 이면 primary 풀을 같이 쓴다) */
+        private int poolSize = 4;
+    }
+
+    @Data
+    public static class Crud {
+        /** 동시에 처리할 CRUD 요청 수 (primary 풀 크기 이하로) */
+        private int maxConcurrent = 10;
+        /** 자리가 날 때까지 기다리는 최대 시간. 넘으면 503 */
+        private Duration maxWait = Duration.ofMillis(500);
+    }
+
+    /** 문서 업로드/다운로드. 본문 전송 동안 자리를 잡고 있으므로 CRUD 와 따로 센다 */
+    @Data
+    public static class Transfer {
+        private int maxConcurrent = 4;
+        private Duration maxWait = Duration.ofMillis(500);
+    }
+}
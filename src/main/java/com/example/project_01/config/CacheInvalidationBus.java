@@ -0,0 +1,235 @@
+package com.example.project_01.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 2차 캐시(NotifyingCache)의 인스턴스 간 무효화.
+ * 쓰기로 캐시가 비워지면 그 트랜잭션 안에서 pg_notify(channel, "노드:namespace") 를 보내고 (커밋될 때만 전달된다),
+ * 모든 인스턴스는 풀 밖의 전용 커넥션으로 LISTEN 하다가 받은 namespace 의 캐시를 비운다.
+ * 자기가 보낸 알림도 받는다: 캐시는 커밋 직전에 비워지므로 그 사이 다시 채워진 옛 값을 커밋 뒤에 한 번 더 비운다.
+ * 리스너가 끊겨 있는 동안에는 캐시를 쓰지 않고, 다시 붙으면 놓친 알림이 있을 수 있으므로 전부 비운 뒤 다시 쓴다.
+ * 캐시는 MyBatis 가 직접 만들어서 빈을 주입받을 수 없으므로 정적 레지스트리로 찾는다.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements DisposableBean {
+
+    private record Subscriber(boolean includeOwn, Runnable action) {
+    }
+
+    private static final Map<String, List<Subscriber>> SUBSCRIBERS = new ConcurrentHashMap<>();
+    private static volatile CacheInvalidationBus instance;
+
+    private final DataSource dataSource;
+    private final String url;
+    private final Properties connectionProperties = new Properties();
+    private final boolean enabled;
+    private final String channel;
+    private final int pollMillis;
+    private final long validateNanos;
+    private final Duration reconnectDelay;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final MeterRegistry meterRegistry;
+    private volatile boolean listening;
+    private volatile boolean running;
+    private Thread listener;
+
+    public CacheInvalidationBus(DataSource dataSource, DataSourceProperties properties, MeterRegistry meterRegistry,
+            @Value("${mybatis-cache.enabled:true}") boolean enabled,
+            @Value("${mybatis-cache.channel:mybatis_cache}") String channel,
+            @Value("${mybatis-cache.poll-interval:500ms}") Duration pollInterval,
+            @Value("${mybatis-cache.validate-interval:30s}") Duration validateInterval,
+            @Value("${mybatis-cache.reconnect-delay:2s}") Duration reconnectDelay) {
+        // LISTEN 은 바인드 변수를 못 받아서 그대로 이어 붙이므로 식별자만 허용한다
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("invalid mybatis-cache.channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.url = properties.determineUrl();
+        this.connectionProperties.setProperty("user", properties.determineUsername());
+        this.connectionProperties.setProperty("password", properties.determinePassword());
+        this.connectionProperties.setProperty("tcpKeepAlive", "true");
+        this.connectionProperties.setProperty("ApplicationName", "cache-invalidation");
+        this.enabled = enabled;
+        this.channel = channel;
+        this.pollMillis = (int) pollInterval.toMillis();
+        this.validateNanos = validateInterval.toNanos();
+        this.reconnectDelay = reconnectDelay;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("mybatis.cache.listening", this, bus -> bus.listening ? 1 : 0).register(meterRegistry);
+        instance = this;
+    }
+
+    static void register(NotifyingCache cache) {
+        subscribe(cache.getId(), true, cache::clearLocal);
+    }
+
+    /** 캐시를 쓸 수 있는지. 리스너가 붙어 있을 때만 다른 인스턴스의 쓰기를 놓치지 않는다 */
+    static boolean isListening() {
+        CacheInvalidationBus bus = instance;
+        return bus != null && bus.listening;
+    }
+
+    /** NotifyingCache.clear 에서 부른다. 트랜잭션 안이면 그 커넥션으로 보내서 커밋될 때만 전달된다 */
+    static void publish(String namespace) {
+        CacheInvalidationBus bus = instance;
+        if (bus != null && bus.enabled) {
+            bus.send(namespace);
+        }
+    }
+
+    /** 다른 인스턴스가 mapper 의 캐시를 비웠을 때 (또는 리스너가 다시 붙었을 때) action 을 부른다 */
+    public void onRemoteInvalidation(Class<?> mapper, Runnable action) {
+        subscribe(mapper.getName(), false, action);
+    }
+
+    /** mapper namespace 밖의 쓰기(다른 매퍼가 같은 테이블을 고칠 때)로 그 캐시를 비운다 */
+    public void invalidate(Class<?> mapper) {
+        String namespace = mapper.getName();
+        SUBSCRIBERS.getOrDefault(namespace, List.of()).stream()
+                .filter(Subscriber::includeOwn)
+                .forEach(subscriber -> subscriber.action().run());
+        publish(namespace);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private static void subscribe(String namespace, boolean includeOwn, Runnable action) {
+        SUBSCRIBERS.computeIfAbsent(namespace, key -> new CopyOnWriteArrayList<>())
+                .add(new Subscriber(includeOwn, action));
+    }
+
+    private void send(String namespace) {
+        try {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, nodeId + ":" + namespace);
+                statement.execute();
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            // 다른 인스턴스는 ttl 이 지나야 바뀐 값을 본다
+            log.warn("cache invalidation notify failed for {}: {}", namespace, ex.getMessage());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, connectionProperties)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                connected();
+                log.info("cache invalidation listener connected (channel {})", channel);
+                long validatedAt = System.nanoTime();
+                while (running) {
+                    // 알림이 오면 바로 돌아오고, 없으면 poll-interval 뒤에 빈 결과로 돌아온다
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                    if (System.nanoTime() - validatedAt >= validateNanos) {
+                        if (!connection.isValid(5)) {
+                            throw new SQLException("listener connection is no longer valid");
+                        }
+                        validatedAt = System.nanoTime();
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (running) {
+                    log.warn("cache invalidation listener disconnected: {}", ex.getMessage());
+                }
+            } finally {
+                disconnected();
+            }
+            pause();
+        }
+    }
+
+    // 끊겨 있던 동안의 알림은 받을 수 없으므로 전부 비우고 나서 캐시를 다시 쓴다
+    void connected() {
+        SUBSCRIBERS.values().forEach(subscribers -> subscribers.forEach(s -> s.action().run()));
+        Counter.builder("mybatis.cache.invalidations").tag("source", "resync").register(meterRegistry).increment();
+        listening = true;
+    }
+
+    void disconnected() {
+        listening = false;
+    }
+
+    void dispatch(String payload) {
+        int colon = payload.indexOf(':');
+        if (colon < 0) {
+            return;
+        }
+        boolean own = nodeId.equals(payload.substring(0, colon));
+        for (Subscriber subscriber : SUBSCRIBERS.getOrDefault(payload.substring(colon + 1), List.of())) {
+            if (!own || subscriber.includeOwn()) {
+                subscriber.action().run();
+            }
+        }
+        Counter.builder("mybatis.cache.invalidations").tag("source", own ? "own" : "remote").register(meterRegistry)
+                .increment();
+    }
+
+    private void pause() {
+        if (!running) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
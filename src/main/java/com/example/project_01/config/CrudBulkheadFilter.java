@@ -0,0 +1,109 @@
+package com.example.project_01.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CRUD 쪽 격벽. /api/analytics, /api/main 을 뺀 /api/** 요청의 동시 처리 수를 제한한다.
+ * 자리가 max-wait 안에 나지 않으면 커넥션 풀에서 오래 기다리게 두지 않고 503 으로 돌려보낸다.
+ * 문서 업로드/다운로드는 본문 전송 내내 자리를 잡으므로 따로 센다(transfer). 느린 전송이 몰려도 CRUD 자리는 남는다.
+ */
+@Component
+public class CrudBulkheadFilter extends OncePerRequestFilter {
+
+    private static final class Lane {
+        final Semaphore permits;
+        final long maxWaitNanos;
+        final AtomicInteger waiting = new AtomicInteger();
+        final Counter rejected;
+
+        Lane(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.maxWaitNanos = maxWait.toNanos();
+            this.rejected = Counter.builder("bulkhead.rejected").tag("name", name).register(meterRegistry);
+            Gauge.builder("bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                    .tag("name", name).register(meterRegistry);
+            Gauge.builder("bulkhead.queued", waiting, AtomicInteger::get)
+                    .tag("name", name).register(meterRegistry);
+            Gauge.builder("bulkhead.saturation", permits,
+                            p -> (double) (maxConcurrent - p.availablePermits()) / maxConcurrent)
+                    .tag("name", name).register(meterRegistry);
+        }
+    }
+
+    private final Lane crud;
+    private final Lane transfer;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public CrudBulkheadFilter(BulkheadProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.crud = new Lane("crud", properties.getCrud().getMaxConcurrent(), properties.getCrud().getMaxWait(),
+                meterRegistry);
+        this.transfer = new Lane("transfer", properties.getTransfer().getMaxConcurrent(),
+                properties.getTransfer().getMaxWait(), meterRegistry);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/analytics/") || path.startsWith("/api/main/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        Lane lane = isTransfer(request) ? transfer : crud;
+        boolean acquired;
+        lane.waiting.incrementAndGet();
+        try {
+            acquired = lane.permits.tryAcquire(lane.maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            lane.waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            lane.rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getWriter(),
+                    Map.of("error", "서버가 바쁩니다. 잠시 후 다시 시도하세요."));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            lane.permits.release();
+        }
+    }
+
+    // 업로드(POST /api/projects/{id}/documents)와 다운로드(GET /api/documents/{id}/download)
+    private boolean isTransfer(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return ("POST".equals(request.getMethod()) && pathMatcher.match("/api/projects/*/documents", path))
+                || ("GET".equals(request.getMethod()) && pathMatcher.match("/api/documents/*/download", path));
+    }
+}
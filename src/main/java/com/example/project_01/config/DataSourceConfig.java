@@ -0,0 +1,79 @@
+package com.example.project_01.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * primary(spring.datasource.*) + 선택적 읽기 replica(replica.*) + 집계 격벽 전용 analytics 풀(bulkhead.analytics.*).
+ * analytics 풀은 primary 와 같은 DB 에 붙지만 커넥션을 따로 가져서, 집계가 몰려도 CRUD 가 커넥션을 기다리지 않는다.
+ * 풀마다 크기를 따로 잡고 Hikari 지표도 pool 태그(primary / replica / analytics)로 따로 나온다.
+ *
+ * 로컬에서 replica 를 쓰려면 스트리밍 복제로 붙인 두 번째 Postgres 를 띄우고
+ * REPLICA_ENABLED=true, REPLICA_DATABASE_URL=jdbc:postgresql://localhost:5434/postgres 처럼 지정한다.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            BulkheadProperties bulkheadProperties,
+            MeterRegistry meterRegistry,
+            @Value("${replica.enabled:false}") boolean replicaEnabled,
+            @Value("${replica.url:}") String url,
+            @Value("${replica.username:}") String username,
+            @Value("${replica.password:}") String password,
+            @Value("${replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${replica.max-lag-seconds:5}") double maxLagSeconds,
+            @Value("${replica.health-check-interval-ms:5000}") long healthCheckIntervalMs) {
+        HikariDataSource replica = null;
+        if (replicaEnabled) {
+            replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // replica 가 내려가 있어도 애플리케이션은 primary 만으로 뜬다
+            replica.setInitializationFailTimeout(-1);
+            // 빈이 아니라서 자동 등록이 안 되므로 직접 붙인다
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        HikariDataSource analytics = null;
+        if (bulkheadProperties.getAnalytics().getPoolSize() > 0) {
+            analytics = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            analytics.setPoolName("analytics");
+            analytics.setMaximumPoolSize(bulkheadProperties.getAnalytics().getPoolSize());
+            analytics.setMinimumIdle(1);
+            analytics.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        ReadWriteRoutingDataSource routing =
+                new ReadWriteRoutingDataSource(primaryDataSource, replica, analytics, maxLagSeconds, meterRegistry);
+        routing.startHealthChecks(healthCheckIntervalMs);
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.project_01.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.IOException;
+
+/**
+ * 마감이 지나 취소된 요청의 예외(취소된 SQL 등)는 500 대신 504 로 돌려준다.
+ * 마감과 상관없는 예외는 건드리지 않고 다음 resolver 로 넘긴다.
+ */
+@Component
+public class DeadlineExceptionResolver implements HandlerExceptionResolver, Ordered {
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (!(request.getAttribute(RequestDeadline.ATTRIBUTE) instanceof RequestDeadline deadline)
+                || !deadline.isOver()) {
+            return null;
+        }
+        try {
+            response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "request deadline exceeded");
+        } catch (IOException | IllegalStateException ignored) {
+            // 클라이언트가 이미 끊었거나 응답이 커밋됨
+        }
+        return new ModelAndView();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.project_01.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * /api/** 요청에 RequestDeadline 을 붙인다.
+ * 비동기(집계 격벽) 요청은 AsyncListener 로 끝을 본다. Tomcat 은 비동기 처리 중 연결이 끊기면 onError 를 부르므로
+ * 그때 실행 중인 SQL 을 취소한다. 동기 요청은 응답을 쓸 때까지 끊김을 알 수 없어서 마감 시각으로만 끊는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter implements DisposableBean {
+
+    private final DeadlineProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ScheduledThreadPoolExecutor scheduler = newScheduler();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        RequestDeadline deadline = new RequestDeadline(timeoutOf(request), scheduler);
+        request.setAttribute(RequestDeadline.ATTRIBUTE, deadline);
+        RequestDeadline.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Listener(deadline));
+            } else {
+                deadline.finish();
+            }
+        }
+    }
+
+    private Duration timeoutOf(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header != null) {
+            try {
+                Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+                if (!requested.isNegative() && !requested.isZero()) {
+                    return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+                }
+            } catch (NumberFormatException ex) {
+                // 잘못된 값이면 라우트 기본값
+            }
+        }
+        String path = request.getRequestURI();
+        for (DeadlineProperties.Route route : properties.getRoutes()) {
+            if (pathMatcher.match(route.getPattern(), path)) {
+                return route.getTimeout();
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+
+    // 요청은 거의 다 마감 전에 끝나서 타이머를 취소한다. 취소된 타이머를 마감 시각까지 큐에 두지 않고 바로 뺀다
+    private static ScheduledThreadPoolExecutor newScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "request-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private record Listener(RequestDeadline deadline) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            deadline.finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            deadline.abort();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // 클라이언트 연결 끊김 등
+            deadline.abort();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.project_01.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * deadline.* 설정. /api/** 요청마다 마감 시각을 두고, 그 안에 끝나지 않은 SQL 은 취소한다.
+ * 라우트별 기본값을 쓰고, 클라이언트가 header(밀리초)로 바꿀 수 있지만 max-timeout 을 넘지는 못한다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    private String header = "X-Request-Timeout";
+
+    /** 위에서부터 처음 맞는 패턴을 쓴다. 아무것도 맞지 않으면 default-timeout */
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String pattern;
+        private Duration timeout;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.project_01.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * 목록 API 의 ?fields= 파라미터 처리.
+ * JSON 필드명 -> DB 컬럼명 화이트리스트를 가지고 있어서, 매퍼 XML 의 동적 컬럼 목록과
+ * 응답 JSON 필터를 같은 기준으로 만든다. 키 필드는 요청하지 않아도 항상 포함된다.
+ */
+public final class FieldSelection {
+
+    /** 부분 응답 대상 DTO 에 붙이는 @JsonFilter id */
+    public static final String FILTER_ID = "fields";
+
+    private final Map<String, String> columnsByField = new LinkedHashMap<>();
+    private final Set<String> keyFields = new LinkedHashSet<>();
+
+    public FieldSelection key(String field, String column) {
+        keyFields.add(field);
+        return field(field, column);
+    }
+
+    public FieldSelection field(String field, String column) {
+        columnsByField.put(field, column);
+        return this;
+    }
+
+    /** DB 컬럼 없이 서비스에서 채우는 필드 */
+    public FieldSelection derived(String field) {
+        return field(field, null);
+    }
+
+    /**
+     * fields 파라미터를 해석한다. 비어 있으면 전체 필드(columns == null)를 뜻한다.
+     */
+    public Selection select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Selection.ALL;
+        }
+        Set<String> selected = new LinkedHashSet<>(keyFields);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!columnsByField.containsKey(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        List<String> columns = new ArrayList<>(selected.size());
+        selected.forEach(f -> {
+            String column = columnsByField.get(f);
+            if (column != null) {
+                columns.add(column);
+            }
+        });
+        return new Selection(selected, columns);
+    }
+
+    /**
+     * @param fields  응답에 남길 JSON 필드 (null 이면 전체)
+     * @param columns 매퍼에 넘길 컬럼 목록 (null 이면 전체)
+     */
+    public record Selection(Set<String> fields, List<String> columns) {
+        public static final Selection ALL = new Selection(null, null);
+
+        public MappingJacksonValue wrap(Object body) {
+            MappingJacksonValue value = new MappingJacksonValue(body);
+            if (fields != null) {
+                value.setFilters(new SimpleFilterProvider()
+                        .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+            }
+            return value;
+        }
+    }
+}
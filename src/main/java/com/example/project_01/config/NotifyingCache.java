@@ -0,0 +1,143 @@
+package com.example.project_01.config;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.io.Resources;
+
+import java.io.*;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인스턴스 간 무효화를 하는 MyBatis 2차 캐시. mapper XML 의 &lt;cache type="..."&gt; 로 namespace 마다 하나씩 생긴다.
+ * size 개까지 LRU 로 두고 ttlSeconds 가 지나면 버린다. 값은 직렬화해서 두므로 꺼낸 쪽이 결과를 고쳐도 캐시는 그대로다
+ * (결과 DTO 는 Serializable 이어야 한다).
+ * 쓰기 문장이 커밋되며 비우면(flushCache) CacheInvalidationBus 로 다른 인스턴스에도 알린다.
+ * 리스너가 끊겨 있으면 넣지도 꺼내지도 않는다. replica 에서 읽은 결과는 복제 지연만큼 옛 값일 수 있으므로 넣지 않는다
+ * (MyBatis 는 트랜잭션 커밋 직전에 putObject 하므로 그때 현재 트랜잭션으로 판단한다).
+ */
+public class NotifyingCache implements Cache {
+
+    private static final int MAX_PENDING = 10_000;
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+
+    private final String id;
+    private final Map<Object, Entry> entries;
+    // miss 난 뒤 put 되기 전까지의 키. 그 사이 비워졌으면 조회 결과가 옛 값일 수 있으므로 넣지 않는다
+    private final Set<Object> pending = new HashSet<>();
+    private int size = 256;
+    private long ttlNanos = TimeUnit.MINUTES.toNanos(5);
+
+    public NotifyingCache(String id) {
+        this.id = id;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > NotifyingCache.this.size;
+            }
+        };
+        CacheInvalidationBus.register(this);
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        if (value == null) {
+            // 커밋 때 넣을 값이 없는 miss 도 null 로 온다
+            removeObject(key);
+            return;
+        }
+        byte[] bytes = serialize(value);
+        synchronized (this) {
+            if (pending.remove(key) && CacheInvalidationBus.isListening()
+                    && !ReadWriteRoutingDataSource.readsFromReplica()) {
+                entries.put(key, new Entry(bytes, System.nanoTime() + ttlNanos));
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        if (!CacheInvalidationBus.isListening()) {
+            return null;
+        }
+        byte[] value;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null || entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                if (pending.size() >= MAX_PENDING) {
+                    pending.clear();
+                }
+                pending.add(key);
+                return null;
+            }
+            value = entry.value();
+        }
+        return deserialize(value);
+    }
+
+    @Override
+    public synchronized Object removeObject(Object key) {
+        pending.remove(key);
+        entries.remove(key);
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        clearLocal();
+        CacheInvalidationBus.publish(id);
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    synchronized void clearLocal() {
+        entries.clear();
+        pending.clear();
+    }
+
+    private byte[] serialize(Object value) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new CacheException("cannot serialize cached value of " + id + ": " + ex, ex);
+        }
+    }
+
+    private Object deserialize(byte[] value) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(value)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws ClassNotFoundException {
+                return Resources.classForName(desc.getName());
+            }
+        }) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new CacheException("cannot deserialize cached value of " + id + ": " + ex, ex);
+        }
+    }
+}
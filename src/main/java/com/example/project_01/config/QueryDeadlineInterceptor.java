@@ -0,0 +1,60 @@
+package com.example.project_01.config;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * MyBatis 문장에 현재 요청의 RequestDeadline 을 적용한다.
+ * prepare 때 남은 시간을 JDBC query timeout(초 단위, 올림)으로 걸고, 실행하는 동안 Statement 를 등록해 두어
+ * 마감/연결 끊김 시 RequestDeadline 이 밀리초 단위로 cancel 할 수 있게 한다. 이미 마감이 지났으면 실행하지 않는다.
+ * 행 수 제한이 있으면 maxRows 로 건다 (pgjdbc 는 이 수만큼만 서버에서 받는다. RowBounds 는 다 받은 뒤 자르기만 한다).
+ */
+@Component
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}),
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "batch", args = {Statement.class})
+})
+public class QueryDeadlineInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return invocation.proceed();
+        }
+        if (deadline.isOver()) {
+            throw new SQLTimeoutException(deadline.isAborted() ? "client disconnected" : "request deadline exceeded");
+        }
+        if (invocation.getMethod().getName().equals("prepare")) {
+            Statement statement = (Statement) invocation.proceed();
+            int seconds = (int) Math.max(1, (deadline.remainingMillis() + 999) / 1000);
+            int current = statement.getQueryTimeout();
+            if (current == 0 || seconds < current) {
+                statement.setQueryTimeout(seconds);
+            }
+            if (deadline.maxRows() > 0) {
+                statement.setMaxRows(deadline.maxRows());
+            }
+            return statement;
+        }
+        Statement statement = (Statement) invocation.getArgs()[0];
+        deadline.register(statement);
+        try {
+            return invocation.proceed();
+        } finally {
+            deadline.unregister(statement);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.project_01.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * /api/** 요청 제한. JwtAuthenticationFilter 뒤에 있어서 로그인 사용자 이름으로 버킷을 나눈다.
+ * 로그인 전 요청은 클라이언트 IP 로 나누며, 프록시 뒤에서는 Tomcat RemoteIpValve 가 바꿔 둔 주소를 쓴다.
+ * 버킷은 GCRA 방식으로 "다음 요청이 들어와도 되는 시각(tat)" 하나만 AtomicLong 에 두고 CAS 로 갱신한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int STRIPES = 16;
+    private static final String DEFAULT_GROUP = "api";
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @SuppressWarnings("unchecked")
+    private final Map<String, Bucket>[] stripes = new Map[STRIPES];
+
+    {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        RateLimitProperties.Route route = routeOf(request.getRequestURI());
+        String group = route == null ? DEFAULT_GROUP : route.getGroup();
+        int cost = route == null ? 1 : route.getCost();
+
+        String key = clientKey(request) + '|' + group;
+        long waitNanos = bucket(key).tryConsume(cost, System.nanoTime());
+        if (waitNanos > 0) {
+            meterRegistry.counter("rate_limit.rejected", "group", group).increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getWriter(),
+                    Map.of("error", "요청이 너무 많습니다. 잠시 후 다시 시도하세요."));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.Route routeOf(String path) {
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null
+                && !"anonymousUser".equals(authentication.getName())) {
+            return "user:" + authentication.getName();
+        }
+        // server.forward-headers-strategy 로 신뢰하는 프록시를 거친 요청은 X-Forwarded-For 의 클라이언트 IP 가 된다
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Bucket bucket(String key) {
+        Map<String, Bucket> stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        Bucket bucket = stripe.get(key);
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> new Bucket(System.nanoTime()));
+        }
+        return bucket;
+    }
+
+    /** 가득 찬 채로 idle-timeout 이 지난 버킷은 새로 만든 것과 같으므로 지운다 (스트라이프 단위로 훑음) */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        for (Map<String, Bucket> stripe : stripes) {
+            stripe.values().removeIf(bucket -> now - bucket.tat.get() > idleNanos);
+        }
+    }
+
+    private final class Bucket {
+
+        // 이 시각 이전이면 버킷이 가득 차 있다
+        private final AtomicLong tat;
+
+        private Bucket(long now) {
+            this.tat = new AtomicLong(now);
+        }
+
+        /** 허용하면 0, 아니면 cost 만큼 토큰이 찰 때까지 남은 나노초 */
+        long tryConsume(int cost, long now) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRefillPerSecond());
+            long burst = interval * properties.getCapacity();
+            long charge = interval * Math.min(cost, properties.getCapacity());
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + charge;
+                long over = next - now - burst;
+                if (over > 0) {
+                    return over;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.project_01.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * rate-limit.* 설정. 사용자(로그인 전에는 IP)와 라우트 그룹마다 버킷 하나를 둔다.
+ * 요청은 라우트의 cost 만큼 토큰을 쓰고, 토큰은 refill-per-second 속도로 capacity 까지 찬다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** 버킷 크기 (순간적으로 허용하는 최대 토큰) */
+    private int capacity = 60;
+
+    private double refillPerSecond = 2;
+
+    /** 이 시간 동안 요청이 없어 가득 찬 버킷은 메모리에서 지운다 */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** 위에서부터 처음 맞는 패턴을 쓴다. 아무것도 맞지 않으면 그룹 "api", cost 1 */
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String pattern;
+        private String group;
+        private int cost = 1;
+    }
+}
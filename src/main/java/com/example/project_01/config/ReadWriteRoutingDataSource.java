@@ -0,0 +1,224 @@
+package com.example.project_01.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽기 전용 트랜잭션은 replica 로, 나머지는 primary 로 보낸다.
+ * 집계 격벽(AnalyticsBulkhead) 스레드의 요청은 primary 대신 analytics 풀을 쓴다 (replica 가 정상이면 읽기는 replica).
+ * replica 상태(접속 가능 여부, 복제 지연)는 전용 스레드에서 주기적으로 확인하고, 비정상이거나 max-lag 보다 뒤처지면
+ * 다시 정상으로 확인될 때까지 읽기도 primary 로 보낸다.
+ * 트랜잭션 시작 시점에는 readOnly 플래그가 아직 없으므로 LazyConnectionDataSourceProxy 뒤에 둔다.
+ * replica 결과는 max-lag 만큼 늦을 수 있으므로, 캐시는 readsFromReplica() 인 트랜잭션의 결과를 넣지 않는다.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    // 대기 중인 WAL 을 모두 재생했으면 지연 0, 아니면 마지막 재생 트랜잭션 이후 경과 시간
+    private static final String LAG_SQL = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    // 현재 트랜잭션이 replica 커넥션을 받았다는 표시 (트랜잭션 리소스, 완료 시 푼다)
+    private static final Object REPLICA_READ = new Object();
+
+    private final DataSource primary;
+    private final HikariDataSource replica;
+    private final HikariDataSource analytics;
+    private final double maxLagSeconds;
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter fallbackRoutes;
+    private final Counter analyticsRoutes;
+
+    private ScheduledExecutorService healthCheck;
+    private volatile boolean replicaHealthy;
+    private volatile double replicaLagSeconds = Double.NaN;
+
+    public ReadWriteRoutingDataSource(DataSource primary, HikariDataSource replica, HikariDataSource analytics,
+            double maxLagSeconds, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.analytics = analytics;
+        this.maxLagSeconds = maxLagSeconds;
+        this.primaryRoutes = routeCounter(registry, "primary");
+        this.replicaRoutes = routeCounter(registry, "replica");
+        this.fallbackRoutes = routeCounter(registry, "fallback");
+        this.analyticsRoutes = routeCounter(registry, "analytics");
+        Gauge.builder("datasource.replica.healthy", this, ds -> ds.replicaHealthy ? 1 : 0).register(registry);
+        Gauge.builder("datasource.replica.lag", this, ds -> ds.replicaLagSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+        if (replica != null) {
+            checkReplica();
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, String target) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out per routing target")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return open(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return open(target -> target.getConnection(username, password));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource target) throws SQLException;
+    }
+
+    // AbstractRoutingDataSource 처럼 고른 대상에 그대로 넘긴다
+    private Connection open(ConnectionOpener opener) throws SQLException {
+        boolean fallback = false;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replica != null) {
+            if (replicaHealthy) {
+                try {
+                    Connection connection = opener.open(replica);
+                    replicaRoutes.increment();
+                    markReplicaRead();
+                    return connection;
+                } catch (SQLFeatureNotSupportedException ex) {
+                    // 풀이 계정 지정 접속을 지원하지 않는 것이지 replica 가 내려간 것은 아니다
+                    throw ex;
+                } catch (SQLException ex) {
+                    // 다음 상태 확인 전까지는 primary 로 읽는다
+                    markUnhealthy(ex);
+                }
+            }
+            fallback = true;
+        }
+        if (analytics != null && AnalyticsBulkhead.isWorkerThread()) {
+            analyticsRoutes.increment();
+            return opener.open(analytics);
+        }
+        (fallback ? fallbackRoutes : primaryRoutes).increment();
+        return opener.open(primary);
+    }
+
+    private static void markReplicaRead() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_READ)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READ, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ);
+            }
+        });
+    }
+
+    /** 현재 트랜잭션에서 replica 로 읽은 적이 있으면 true. 이 결과는 캐시에 넣으면 안 된다 */
+    public static boolean readsFromReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READ);
+    }
+
+    /**
+     * 상태 확인을 intervalMillis 마다 돌린다. 공용 @Scheduled 스레드에 두면 오래 걸리는 작업(문서 대조, 프로젝트 정리) 뒤에
+     * 밀려서 그동안 replicaHealthy 가 갱신되지 않고 지연된 replica 로 계속 읽게 된다.
+     */
+    public synchronized void startHealthChecks(long intervalMillis) {
+        if (replica == null || healthCheck != null) {
+            return;
+        }
+        healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheck.scheduleWithFixedDelay(this::checkReplica, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void checkReplica() {
+        if (replica == null) {
+            return;
+        }
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            double lag = rs.getDouble(1);
+            replicaLagSeconds = lag;
+            boolean healthy = lag <= maxLagSeconds;
+            if (healthy != replicaHealthy) {
+                log.info("replica {} (lag {}s, max {}s)", healthy ? "in use" : "lagging, reads go to primary",
+                        lag, maxLagSeconds);
+            }
+            replicaHealthy = healthy;
+        } catch (SQLException | RuntimeException ex) {
+            // 예외를 밖으로 던지면 주기 실행이 멈춘다
+            markUnhealthy(ex);
+        }
+    }
+
+    private void markUnhealthy(Exception ex) {
+        if (replicaHealthy) {
+            log.warn("replica unavailable, reads go to primary: {}", ex.getMessage());
+        }
+        replicaHealthy = false;
+        replicaLagSeconds = Double.NaN;
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    /** primary 외에 이 라우터가 직접 가진 풀 (정상인 replica, analytics) */
+    public List<HikariDataSource> auxiliaryPools() {
+        List<HikariDataSource> pools = new ArrayList<>(2);
+        if (replica != null && replicaHealthy) {
+            pools.add(replica);
+        }
+        if (analytics != null) {
+            pools.add(analytics);
+        }
+        return pools;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (healthCheck != null) {
+            healthCheck.shutdownNow();
+        }
+        if (replica != null) {
+            replica.close();
+        }
+        if (analytics != null) {
+            analytics.close();
+        }
+    }
+}
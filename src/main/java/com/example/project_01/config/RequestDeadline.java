@@ -0,0 +1,123 @@
+package com.example.project_01.config;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 요청 하나의 마감 시각과 그 요청이 실행 중인 JDBC Statement 목록.
+ * 마감 시각이 되거나 클라이언트 연결이 끊기면(abort) 실행 중인 Statement 를 cancel 해서
+ * Postgres 쪽 작업과 커넥션을 바로 돌려받는다. 요청 스레드와 집계 격벽 스레드 모두 current() 로 본다.
+ */
+public final class RequestDeadline {
+
+    /** 요청 속성 이름 (비동기 재디스패치/예외 처리에서 찾을 때) */
+    public static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+    private final ScheduledFuture<?> timer;
+    private volatile boolean aborted;
+    private int maxRows;
+
+    RequestDeadline(Duration timeout, ScheduledExecutorService scheduler) {
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        this.timer = scheduler.schedule(this::cancelRunning, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /** 이 마감 아래에서 실행하는 문장이 서버에서 받을 최대 행 수 (JDBC maxRows, 0 이면 제한 없음) */
+    RequestDeadline limitRows(int maxRows) {
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    int maxRows() {
+        return maxRows;
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /** task 를 이 마감 시각 아래에서 실행한다 (다른 스레드로 넘길 때) */
+    public static <T> T callWith(RequestDeadline deadline, Supplier<T> task) {
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    static void set(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /** 더 진행할 의미가 없는지 (마감 지남 또는 클라이언트 끊김) */
+    public boolean isOver() {
+        return aborted || isExpired();
+    }
+
+    public void register(Statement statement) {
+        running.add(statement);
+        // 등록 직전에 취소가 지나갔을 수 있다
+        if (isOver()) {
+            cancel(statement);
+        }
+    }
+
+    public void unregister(Statement statement) {
+        running.remove(statement);
+    }
+
+    void abort() {
+        aborted = true;
+        cancelRunning();
+    }
+
+    void finish() {
+        timer.cancel(false);
+        running.clear();
+    }
+
+    private void cancelRunning() {
+        running.forEach(RequestDeadline::cancel);
+    }
+
+    private static void cancel(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException ex) {
+            // 이미 끝났거나 닫힌 Statement
+        }
+    }
+}
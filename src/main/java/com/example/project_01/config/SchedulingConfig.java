@@ -0,0 +1,26 @@
+package com.example.project_01.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * spring.main.lazy-initialization 을 켜도 @Scheduled 메서드가 있는 빈은 바로 만든다.
+     * lazy 로 두면 아무도 주입받지 않는 빈(정리 작업 등)은 등록조차 되지 않는다.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, definition, beanType) -> beanType != null
+                && !MethodIntrospector.selectMethods(beanType,
+                        (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.project_01.config;
+
+import java.lang.annotation.*;
+
+/**
+ * 같은 메서드 + 같은 인자로 동시에 들어온 호출은 하나만 실행하고 나머지는 그 결과를 받는다.
+ * 실행이 끝난 뒤 graceMillis 동안 들어온 호출도 같은 결과를 재사용한다.
+ * 결과 객체는 호출자끼리 공유되므로 받은 쪽에서 수정하면 안 된다.
+ * CompletableFuture 를 돌려주는 메서드면 기다리는 쪽은 스레드를 잡지 않고 앞선 호출의 future 에 붙는다.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /** 완료 후 결과를 재사용하는 시간 (0 이면 진행 중인 호출만 합친다) */
+    long graceMillis() default 200;
+
+    /** 앞선 호출의 결과를 기다리는 최대 시간. 넘으면 504 */
+    long timeoutMillis() default 10_000;
+}
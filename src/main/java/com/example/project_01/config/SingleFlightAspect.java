@@ -0,0 +1,202 @@
+package com.example.project_01.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * @SingleFlight 처리. 트랜잭션보다 바깥(먼저)에서 돌아야 기다리는 쪽이 커넥션을 잡지 않는다.
+ * CompletableFuture 를 돌려주는 메서드(집계 격벽에 넘기는 컨트롤러)는 앞선 호출의 future 에 붙기만 하므로
+ * 뒤따르는 요청이 격벽의 스레드나 대기열 자리를 쓰지 않는다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SingleFlightAspect {
+
+    private record Key(Method method, List<Object> args) {
+    }
+
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+    }
+
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(com.example.project_01.config.SingleFlight) || @within(com.example.project_01.config.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        SingleFlight settings = AnnotatedElementUtils.findMergedAnnotation(method, SingleFlight.class);
+        if (settings == null) {
+            settings = AnnotatedElementUtils.findMergedAnnotation(pjp.getTarget().getClass(), SingleFlight.class);
+        }
+        Key key = new Key(method, Arrays.asList(pjp.getArgs()));
+        if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+            return coalesceAsync(pjp, key, settings);
+        }
+
+        while (true) {
+            Flight flight = new Flight();
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                meterRegistry.counter("singleflight.calls", "method", method.getName(), "role", "leader").increment();
+                return lead(pjp, key, flight, settings.graceMillis());
+            }
+            meterRegistry.counter("singleflight.calls", "method", method.getName(), "role", "follower").increment();
+            try {
+                return existing.result.get(settings.timeoutMillis(), TimeUnit.MILLISECONDS);
+            } catch (CancellationException ex) {
+                // 앞선 호출이 취소됨: 지우고 다시 시도 (이번엔 직접 실행할 수도 있다)
+                flights.remove(key, existing);
+            } catch (ExecutionException ex) {
+                throw ex.getCause();
+            } catch (TimeoutException ex) {
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                        "timed out waiting for in-flight " + method.getName());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("interrupted waiting for in-flight " + method.getName());
+            }
+        }
+    }
+
+    private CompletableFuture<Object> coalesceAsync(ProceedingJoinPoint pjp, Key key, SingleFlight settings)
+            throws Throwable {
+        String name = key.method().getName();
+        while (true) {
+            Flight flight = new Flight();
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                meterRegistry.counter("singleflight.calls", "method", name, "role", "leader").increment();
+                return leadAsync(pjp, key, flight, settings.graceMillis());
+            }
+            if (existing.result.isCancelled()) {
+                flights.remove(key, existing);
+                continue;
+            }
+            meterRegistry.counter("singleflight.calls", "method", name, "role", "follower").increment();
+            return follow(pjp, key, existing, settings);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Object> leadAsync(ProceedingJoinPoint pjp, Key key, Flight flight, long graceMillis)
+            throws Throwable {
+        RequestDeadline deadline = RequestDeadline.current();
+        CompletableFuture<Object> future;
+        try {
+            future = (CompletableFuture<Object>) pjp.proceed();
+        } catch (Throwable ex) {
+            // 격벽이 받지 않은 경우(503) 등: 붙어 있던 쪽도 같은 응답을 받는다
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        }
+        future.whenComplete((value, failure) -> {
+            if (failure == null) {
+                flight.result.complete(value);
+                if (graceMillis > 0) {
+                    CompletableFuture.delayedExecutor(graceMillis, TimeUnit.MILLISECONDS)
+                            .execute(() -> flights.remove(key, flight));
+                } else {
+                    flights.remove(key, flight);
+                }
+                return;
+            }
+            flights.remove(key, flight);
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            if (cause instanceof CancellationException || (deadline != null && deadline.isAborted())) {
+                // 앞선 요청이 끊겨서 실패한 것이므로 기다리던 쪽은 다시 실행하게 한다
+                flight.result.cancel(false);
+            } else {
+                flight.result.completeExceptionally(cause);
+            }
+        });
+        return future;
+    }
+
+    /** 스레드를 잡지 않고 앞선 호출의 결과를 받는다. 앞선 호출이 취소되면 이 요청의 마감 시각 아래에서 다시 시도한다 */
+    private CompletableFuture<Object> follow(ProceedingJoinPoint pjp, Key key, Flight existing,
+            SingleFlight settings) {
+        RequestDeadline deadline = RequestDeadline.current();
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        existing.result.whenComplete((value, failure) -> {
+            if (failure == null) {
+                mine.complete(value);
+            } else if (existing.result.isCancelled()) {
+                flights.remove(key, existing);
+                try {
+                    RequestDeadline.callWith(deadline, () -> {
+                        try {
+                            return coalesceAsync(pjp, key, settings);
+                        } catch (Throwable ex) {
+                            return CompletableFuture.failedFuture(ex);
+                        }
+                    }).whenComplete((retried, retryFailure) -> {
+                        if (retryFailure == null) {
+                            mine.complete(retried);
+                        } else {
+                            mine.completeExceptionally(retryFailure);
+                        }
+                    });
+                } catch (RuntimeException ex) {
+                    mine.completeExceptionally(ex);
+                }
+            } else {
+                mine.completeExceptionally(failure);
+            }
+        });
+        String name = key.method().getName();
+        return mine.orTimeout(settings.timeoutMillis(), TimeUnit.MILLISECONDS).exceptionally(failure -> {
+            if (failure instanceof TimeoutException) {
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                        "timed out waiting for in-flight " + name);
+            }
+            throw failure instanceof CompletionException completion ? completion
+                    : new CompletionException(failure);
+        });
+    }
+
+    private Object lead(ProceedingJoinPoint pjp, Key key, Flight flight, long graceMillis) throws Throwable {
+        Object value;
+        try {
+            value = pjp.proceed();
+        } catch (Throwable ex) {
+            flights.remove(key, flight);
+            RequestDeadline deadline = RequestDeadline.current();
+            if (Thread.currentThread().isInterrupted() || ex instanceof CancellationException
+                    || ex instanceof InterruptedException || (deadline != null && deadline.isAborted())) {
+                // 요청이 끊겨서 실패한 것이므로 기다리던 쪽은 다시 실행하게 한다
+                flight.result.cancel(false);
+            } else {
+                flight.result.completeExceptionally(ex);
+            }
+            throw ex;
+        }
+        flight.result.complete(value);
+        if (graceMillis > 0) {
+            CompletableFuture.delayedExecutor(graceMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> flights.remove(key, flight));
+        } else {
+            flights.remove(key, flight);
+        }
+        return value;
+    }
+}
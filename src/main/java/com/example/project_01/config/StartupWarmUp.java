@@ -0,0 +1,263 @@
+package com.example.project_01.config;
+
+import com.example.project_01.analytics.dto.AnalyticsSummaryResponse;
+import com.example.project_01.analytics.dto.ChartDataResponse;
+import com.example.project_01.calendar.dto.CalendarResponse;
+import com.example.project_01.document.dto.DocumentResponse;
+import com.example.project_01.main.dto.MainHeroDto;
+import com.example.project_01.main.dto.MainItemDto;
+import com.example.project_01.main.dto.MainSummaryDto;
+import com.example.project_01.task.dto.TaskQuery;
+import com.example.project_01.task.dto.TaskRequest;
+import com.example.project_01.task.dto.TaskResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 배포 직후 첫 요청이 느린 원인(풀 채우기, MyBatis 문장/JDBC prepare, JSON·JWT 경로의 콜드 JIT)을 미리 치른다.
+ * ApplicationRunner 라서 끝나기 전에는 ApplicationReadyEvent 가 나지 않고, readiness 프로브도 준비 안 됨(503)으로 남는다.
+ * 전체 시간은 budget 안으로 자르고, 단계별 소요 시간은 로그와 startup.warmup{phase} 타이머로 남긴다.
+ */
+@Slf4j
+@Component
+public class StartupWarmUp implements ApplicationRunner {
+
+    // 매퍼 파라미터 이름별로 아무것도 고치지 않는 값. 파라미터를 안 쓰는 문장(findAll 등)은 결과가 많을 수 있어서
+    // 행 수는 maxRows 로 따로 막는다
+    private static final Map<String, Object> SAFE_PARAMS;
+
+    static {
+        LocalDate today = LocalDate.now();
+        TaskQuery query = new TaskQuery();
+        query.setProject(List.of(-1L));
+        query.setSize(1);
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", -1L);
+        params.put("projectId", -1L);
+        params.put("taskId", -1L);
+        params.put("start", today);
+        params.put("end", today);
+        params.put("from", today);
+        params.put("to", today);
+        params.put("date", today);
+        params.put("dates", List.of(today));
+        params.put("eventIds", List.of(-1L));
+        params.put("limit", 1);
+        params.put("offset", 0);
+        params.put("since", Long.MAX_VALUE - 1);
+        params.put("upTo", Long.MAX_VALUE);
+        params.put("afterId", Long.MAX_VALUE);
+        params.put("columns", null);
+        params.put("granularity", "day");
+        params.put("priority", "high");
+        params.put("firedAfter", OffsetDateTime.now());
+        params.put("query", query);
+        params.put("orderBy", "deadline ASC");
+        SAFE_PARAMS = Collections.unmodifiableMap(params);
+    }
+
+    private static final Pattern LOCKING_SQL = Pattern.compile("advisory|for\\s+update", Pattern.CASE_INSENSITIVE);
+
+    // 결과가 비어 있어도 직렬화기를 만들어 둘 주요 응답 DTO
+    private static final List<Class<?>> RESPONSE_TYPES = List.of(TaskResponse.class, DocumentResponse.class,
+            CalendarResponse.class, ChartDataResponse.class, AnalyticsSummaryResponse.class, MainItemDto.class,
+            MainHeroDto.class, MainSummaryDto.class);
+
+    private final SqlSessionTemplate sqlSessionTemplate;
+    private final TransactionTemplate readOnly;
+    private final HikariDataSource primaryDataSource;
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration budget;
+    private final Duration statementTimeout;
+    private final int iterations;
+
+    public StartupWarmUp(SqlSessionTemplate sqlSessionTemplate, PlatformTransactionManager transactionManager,
+            HikariDataSource primaryDataSource, ReadWriteRoutingDataSource routingDataSource, JwtUtil jwtUtil,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${warm-up.enabled:true}") boolean enabled,
+            @Value("${warm-up.budget:20s}") Duration budget,
+            @Value("${warm-up.statement-timeout:2s}") Duration statementTimeout,
+            @Value("${warm-up.iterations:200}") int iterations) {
+        this.sqlSessionTemplate = sqlSessionTemplate;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.primaryDataSource = primaryDataSource;
+        this.routingDataSource = routingDataSource;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.statementTimeout = statementTimeout;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long deadline = System.nanoTime() + budget.toNanos();
+        long started = System.nanoTime();
+        List<Object> samples = new ArrayList<>();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            phase("pool", deadline, this::fillPools);
+            phase("statements", deadline, () -> runStatements(deadline, scheduler, samples));
+            phase("jwt", deadline, this::exerciseJwt);
+            phase("json", deadline, () -> exerciseJson(deadline, samples));
+        } finally {
+            scheduler.shutdownNow();
+        }
+        log.info("warm-up finished in {} ms (budget {} ms)",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), budget.toMillis());
+    }
+
+    private void phase(String name, long deadline, Runnable work) {
+        if (System.nanoTime() >= deadline) {
+            log.info("warm-up {} skipped: budget exhausted", name);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            work.run();
+        } catch (RuntimeException ex) {
+            log.warn("warm-up {} failed: {}", name, ex.getMessage());
+        }
+        long elapsed = System.nanoTime() - started;
+        Timer.builder("startup.warmup").tag("phase", name).register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("warm-up {}: {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /** 각 풀에서 최대 크기만큼 커넥션을 한꺼번에 빌렸다가 돌려줘서 물리 연결을 미리 맺는다 */
+    private void fillPools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(primaryDataSource);
+        pools.addAll(routingDataSource.auxiliaryPools());
+        for (HikariDataSource pool : pools) {
+            List<Connection> borrowed = new ArrayList<>();
+            try {
+                for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                    borrowed.add(pool.getConnection());
+                }
+            } catch (SQLException ex) {
+                log.warn("warm-up could not fill pool {}: {}", pool.getPoolName(), ex.getMessage());
+            } finally {
+                borrowed.forEach(StartupWarmUp::closeQuietly);
+            }
+            log.info("warm-up pool {}: {} connections", pool.getPoolName(), borrowed.size());
+        }
+    }
+
+    /**
+     * 모든 SELECT 문장을 읽기 전용 트랜잭션에서 한 번씩 실행한다. 문장마다 statement-timeout 으로 끊고,
+     * JDBC maxRows=1 로 서버에서 한 행까지만 받는다 (집계/정렬 자체는 DB 에서 끝까지 돈다).
+     */
+    private void runStatements(long deadline, ScheduledExecutorService scheduler, List<Object> samples) {
+        int executed = 0;
+        int failed = 0;
+        for (String id : new TreeSet<>(sqlSessionTemplate.getConfiguration().getMappedStatementNames())) {
+            if (!id.contains(".") || id.contains("!")) {
+                continue;
+            }
+            MappedStatement statement = sqlSessionTemplate.getConfiguration().getMappedStatement(id);
+            if (statement.getSqlCommandType() != SqlCommandType.SELECT || takesLocks(statement)) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                log.info("warm-up statements stopped after {}: budget exhausted", executed);
+                break;
+            }
+            RequestDeadline statementDeadline = new RequestDeadline(
+                    Duration.ofNanos(Math.min(remaining, statementTimeout.toNanos())), scheduler).limitRows(1);
+            try {
+                List<Object> rows = RequestDeadline.callWith(statementDeadline, () -> readOnly.execute(
+                        status -> sqlSessionTemplate.selectList(id, SAFE_PARAMS)));
+                if (rows != null && !rows.isEmpty() && rows.get(0) != null) {
+                    samples.add(rows.get(0));
+                }
+            } catch (RuntimeException ex) {
+                failed++;
+                log.debug("warm-up statement {} failed: {}", id, ex.getMessage());
+            } finally {
+                statementDeadline.finish();
+            }
+            executed++;
+        }
+        log.info("warm-up statements: {} executed, {} failed", executed, failed);
+    }
+
+    // 잠금을 잡는 SELECT(advisory lock, FOR UPDATE)는 다른 인스턴스 작업을 막을 수 있어 건너뛴다
+    private static boolean takesLocks(MappedStatement statement) {
+        try {
+            return LOCKING_SQL.matcher(statement.getBoundSql(SAFE_PARAMS).getSql()).find();
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    private void exerciseJwt() {
+        for (int i = 0; i < iterations; i++) {
+            String token = jwtUtil.generateToken("warm-up");
+            if (!jwtUtil.validateToken(token) || !"warm-up".equals(jwtUtil.getUsername(token))) {
+                throw new IllegalStateException("jwt round trip failed");
+            }
+        }
+    }
+
+    private void exerciseJson(long deadline, List<Object> samples) {
+        List<Object> values = new ArrayList<>(samples);
+        for (Class<?> type : RESPONSE_TYPES) {
+            values.add(BeanUtils.instantiateClass(type));
+        }
+        String request = "{\"title\":\"warm-up\",\"description\":\"\",\"priority\":\"high\","
+                + "\"deadline\":\"2026-01-01\",\"completed\":false}";
+        try {
+            for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+                objectMapper.writeValueAsBytes(values);
+                objectMapper.readValue(request, TaskRequest.class);
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // 풀로 돌아가지 못한 커넥션은 Hikari 가 정리한다
+        }
+    }
+}
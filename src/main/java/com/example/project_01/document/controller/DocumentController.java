@@ -1,19 +1,24 @@
 package com.example.project_01.document.controller;
 
+import com.example.project_01.config.FieldSelection;
 import com.example.project_01.document.dto.DocumentRequest;
 import com.example.project_01.document.dto.DocumentResponse;
+import com.example.project_01.document.service.DocumentPreviews;
 import com.example.project_01.document.service.DocumentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api")
@@ -24,8 +29,10 @@ public class DocumentController {
 
     // 문서 목록 조회
     @GetMapping("/projects/{projectId}/documents")
-    public List<DocumentResponse> getDocuments(@PathVariable Long projectId) {
-        return documentService.getDocumentsByProject(projectId);
+    public MappingJacksonValue getDocuments(@PathVariable Long projectId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection.Selection selection = DocumentResponse.FIELDS.select(fields);
+        return selection.wrap(documentService.getDocumentsByProject(projectId, selection.columns()));
     }
 
     // 문서 업로드
@@ -55,17 +62,44 @@ public class DocumentController {
 
     // 파일 다운로드
     @GetMapping("/documents/{documentId}/download")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long documentId) {
-        Resource resource = documentService.loadFileAsResource(documentId);
-        DocumentResponse doc = documentService.getDocument(documentId);
+    public ResponseEntity<Resource> downloadFile(@PathVariable Long documentId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        DocumentService.Download download = documentService.download(documentId, acceptEncoding);
+        DocumentResponse doc = download.document();
 
         // 한글 파일명 처리
         String encodedFileName = URLEncoder.encode(doc.getOriginalName(), StandardCharsets.UTF_8)
                 .replaceAll("\\+", "%20");
 
-        return ResponseEntity.ok()
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType(doc.getMimeType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"")
-                .body(resource);
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"");
+        // 압축 저장된 파일은 Accept-Encoding 에 따라 응답이 달라진다
+        if (doc.getContentEncoding() != null) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (download.contentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, download.contentEncoding());
+        }
+        return response.body(download.resource());
+    }
+
+    // 썸네일(thumb) / 첫 페이지(page) 미리보기. 렌더링 전이면 202 + 자리표시 이미지
+    @GetMapping("/documents/{documentId}/preview")
+    public ResponseEntity<Resource> previewDocument(@PathVariable Long documentId,
+            @RequestParam(defaultValue = "thumb") String size) {
+        DocumentPreviews.Preview preview = documentService.getPreview(documentId, size);
+        if (!preview.ready()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .cacheControl(CacheControl.noStore())
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .contentType(MediaType.IMAGE_PNG)
+                    .body(preview.resource());
+        }
+        // stored_name 이 업로드마다 달라서 같은 문서의 미리보기는 바뀌지 않는다
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .contentType(MediaType.IMAGE_PNG)
+                .body(preview.resource());
     }
 }
@@ -1,15 +1,33 @@
 package com.example.project_01.document.dto;
 
+import com.example.project_01.config.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.time.OffsetDateTime;
 
 @Getter
 @Setter
 @NoArgsConstructor
-public class DocumentResponse {
+@JsonFilter(FieldSelection.FILTER_ID)
+public class DocumentResponse implements Serializable {
+    public static final FieldSelection FIELDS = new FieldSelection()
+            .key("id", "id")
+            .key("projectId", "project_id")
+            .field("title", "title")
+            .field("description", "description")
+            .field("docType", "doc_type")
+            .field("originalName", "original_name")
+            .field("storedName", "stored_name")
+            .field("fileSize", "file_size")
+            .field("mimeType", "mime_type")
+            .field("contentEncoding", "content_encoding")
+            .field("createdAt", "created_at")
+            .field("updatedAt", "updated_at");
+
     private Long id;
     private Long projectId;
     private String title;
@@ -19,6 +37,7 @@ public class DocumentResponse {
     private String storedName; // stored_name
     private Long fileSize;
     private String mimeType;
+    private String contentEncoding; // 저장 압축 방식 (gzip), 원본 저장이면 null
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 }
@@ -12,11 +12,14 @@ import java.util.Optional;
 public interface DocumentMapper {
     void insertDocument(DocumentResponse document);
 
-    List<DocumentResponse> findByProjectId(@Param("projectId") Long projectId);
+    List<DocumentResponse> findByProjectId(@Param("projectId") Long projectId, @Param("columns") List<String> columns);
 
     Optional<DocumentResponse> findById(@Param("id") Long id);
 
     void updateDocument(@Param("id") Long id, @Param("request") DocumentRequest request);
 
     void deleteDocument(@Param("id") Long id);
+
+    // 파일 정리용 keyset 페이지 (id, stored_name, created_at 만)
+    List<DocumentResponse> findStoredNamesAfter(@Param("afterId") long afterId, @Param("limit") int limit);
 }
@@ -0,0 +1,119 @@
+package com.example.project_01.document.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 업로드 파일 압축 저장. 압축 효과가 있는 MIME 타입이고 min-size 이상이면 gzip 으로 저장한다.
+ * 저장 방식은 project_documents.content_encoding 에 남기고, 다운로드 시 클라이언트가 받을 수 있으면 그대로 보낸다.
+ */
+@Component
+public class DocumentCompression {
+
+    public static final String GZIP = "gzip";
+
+    private final boolean enabled;
+    private final long minSize;
+    private final List<MimeType> gzipTypes;
+
+    public DocumentCompression(@Value("${documents.compression.enabled:true}") boolean enabled,
+            @Value("${documents.compression.min-size:1024}") long minSize,
+            @Value("${documents.compression.gzip-types:text/*,application/json,application/xml,image/svg+xml}")
+            List<String> gzipTypes) {
+        this.enabled = enabled;
+        this.minSize = minSize;
+        this.gzipTypes = gzipTypes.stream().map(String::trim).map(MimeTypeUtils::parseMimeType).toList();
+    }
+
+    /** 이 파일에 쓸 압축 방식. 압축하지 않으면 null */
+    public String encodingFor(String mimeType, long size) {
+        if (!enabled || mimeType == null || size < minSize) {
+            return null;
+        }
+        try {
+            MimeType type = MimeTypeUtils.parseMimeType(mimeType);
+            return gzipTypes.stream().anyMatch(candidate -> candidate.includes(type)) ? GZIP : null;
+        } catch (InvalidMimeTypeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * file 을 target 에 저장하고 실제로 쓴 압축 방식을 돌려준다.
+     * 압축해도 줄지 않으면 원본으로 다시 쓰고 null 을 돌려준다.
+     */
+    public String store(MultipartFile file, Path target) throws IOException {
+        String encoding = encodingFor(file.getContentType(), file.getSize());
+        if (encoding != null) {
+            try (InputStream in = file.getInputStream();
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+                in.transferTo(out);
+            }
+            if (Files.size(target) < file.getSize()) {
+                return encoding;
+            }
+        }
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return null;
+    }
+
+    /** 저장된 바이트를 원본으로 푸는 스트림 */
+    public InputStream decode(InputStream stored, String encoding) throws IOException {
+        if (encoding == null) {
+            return stored;
+        }
+        if (GZIP.equals(encoding)) {
+            return new GZIPInputStream(stored, 64 * 1024);
+        }
+        throw new IOException("unknown content encoding: " + encoding);
+    }
+
+    /** Accept-Encoding 헤더가 encoding 을 허용하는지. 이름이 명시된 항목이 * 보다 우선하고, q=0 은 거부로 본다 */
+    public static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null || encoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim();
+            if (name.equalsIgnoreCase(encoding)) {
+                return quality(tokens) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(tokens) > 0;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String param = tokens[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.project_01.document.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 행이 이미 지워진 문서의 저장 파일과 미리보기를 지운다 (프로젝트 정리용).
+ * 모든 호출이 IoThrottle 하나를 같이 쓰므로 대량 삭제가 업로드/다운로드 디스크 I/O 를 밀어내지 않는다.
+ * 지우지 못한 파일은 DocumentReconciler 가 고아 파일로 다시 잡는다.
+ */
+@Slf4j
+@Component
+public class DocumentFileCleaner {
+
+    private final DocumentPreviews documentPreviews;
+    private final IoThrottle throttle;
+
+    public DocumentFileCleaner(DocumentPreviews documentPreviews,
+            @Value("${project-purge.max-io-per-second:50}") int maxIoPerSecond) {
+        this.documentPreviews = documentPreviews;
+        this.throttle = new IoThrottle(maxIoPerSecond);
+    }
+
+    /** 호출한 스레드에서 지운다. 지운(또는 이미 없던) 파일 수를 돌려준다 */
+    public int remove(List<String> storedNames) {
+        int removed = 0;
+        for (String storedName : storedNames) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            throttle.acquire();
+            Path file = DocumentService.STORAGE_LOCATION.resolve(storedName).normalize();
+            try {
+                Files.deleteIfExists(file);
+                removed++;
+            } catch (IOException ex) {
+                log.warn("Could not delete file: {}", storedName, ex);
+            }
+            documentPreviews.delete(storedName);
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.project_01.document.service;
+
+import com.example.project_01.document.dto.DocumentResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * 업로드된 PDF/이미지의 썸네일과 첫 페이지 미리보기를 백그라운드에서 만든다.
+ * 종류(pdf, image)마다 작업자 수와 대기열 크기가 정해진 풀을 따로 두어, 큰 PDF 가 몰려도 이미지 쪽은 막히지 않는다.
+ * 결과는 원본 옆 .previews 디렉터리에 PNG 로 두고, 없으면 조회 시점에 다시 요청한다 (재기동/대기열 초과 대비).
+ * 렌더링이 실패하면(깨진 파일, 지원하지 않는 형식, 쓰기 실패) 같은 자리에 .failed 표시를 남기고 다시 요청하지 않는다.
+ * 표시 파일도 못 쓰면 이 인스턴스 메모리에라도 남긴다. 원본 파일이 없으면 DocumentService 가 404 로 막는다.
+ */
+@Slf4j
+@Component
+public class DocumentPreviews implements DisposableBean {
+
+    private static final String FAILED_SUFFIX = ".failed";
+
+    public enum Size {
+        THUMB(240), PAGE(1200);
+
+        final int maxEdge;
+
+        Size(int maxEdge) {
+            this.maxEdge = maxEdge;
+        }
+    }
+
+    /** ready 가 false 면 아직 렌더링 중이라 resource 는 자리표시 이미지다 */
+    public record Preview(Resource resource, boolean ready) {
+    }
+
+    private final Path previewLocation;
+    private final Map<String, ThreadPoolExecutor> executors;
+    // 대기열에 있거나 렌더링 중인 stored_name (중복 요청 방지)
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // .failed 표시를 쓰지 못한 stored_name
+    private final Set<String> failedInMemory = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final byte[] placeholder;
+
+    public DocumentPreviews(@Value("${documents.preview.queue-capacity:100}") int queueCapacity,
+            @Value("${documents.preview.pdf-workers:1}") int pdfWorkers,
+            @Value("${documents.preview.image-workers:2}") int imageWorkers,
+            MeterRegistry meterRegistry) {
+        this.previewLocation = DocumentService.STORAGE_LOCATION.resolve(".previews");
+        this.executors = Map.of(
+                "pdf", executor("pdf", pdfWorkers, queueCapacity),
+                "image", executor("image", imageWorkers, queueCapacity));
+        this.meterRegistry = meterRegistry;
+        this.placeholder = renderPlaceholder();
+    }
+
+    private static ThreadPoolExecutor executor(String kind, int workers, int queueCapacity) {
+        ThreadFactory threads = runnable -> {
+            Thread thread = new Thread(runnable, "preview-" + kind);
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threads, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean supports(String mimeType) {
+        return kindOf(mimeType) != null;
+    }
+
+    /** 업로드 커밋 후 호출. 대기열이 가득 차면 버리고, 나중에 조회될 때 다시 요청된다 */
+    public void submit(DocumentResponse document) {
+        String kind = kindOf(document.getMimeType());
+        if (kind == null || isRendered(document.getStoredName()) || hasFailed(document.getStoredName())
+                || !inFlight.add(document.getStoredName())) {
+            return;
+        }
+        try {
+            executors.get(kind).execute(() -> {
+                try {
+                    render(kind, document.getStoredName());
+                    meterRegistry.counter("documents.preview.rendered", "kind", kind).increment();
+                } catch (NoSuchFileException ex) {
+                    // 원본이 없는 것은 표시하지 않는다 (복구되면 다시 그릴 수 있게)
+                    meterRegistry.counter("documents.preview.failed", "kind", kind).increment();
+                    log.warn("preview source missing for {}", document.getStoredName());
+                } catch (IOException | RuntimeException ex) {
+                    // 어떤 실패든 표시를 남겨서 조회가 202 로 다시 요청하는 일을 반복하지 않게 한다
+                    markFailed(document.getStoredName(), ex);
+                    meterRegistry.counter("documents.preview.failed", "kind", kind).increment();
+                    log.warn("preview rendering failed for {}: {}", document.getStoredName(), ex.getMessage());
+                } finally {
+                    inFlight.remove(document.getStoredName());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(document.getStoredName());
+            meterRegistry.counter("documents.preview.rejected", "kind", kind).increment();
+        }
+    }
+
+    public Preview get(DocumentResponse document, Size size) {
+        Path file = previewPath(document.getStoredName(), size);
+        if (Files.exists(file)) {
+            return new Preview(new FileSystemResource(file), true);
+        }
+        submit(document);
+        return new Preview(new ByteArrayResource(placeholder), false);
+    }
+
+    /** 이전에 렌더링이 실패해서 미리보기를 만들 수 없는 문서인지 */
+    public boolean hasFailed(String storedName) {
+        return failedInMemory.contains(storedName) || Files.exists(failedPath(storedName));
+    }
+
+    public void delete(String storedName) {
+        try {
+            for (Size size : Size.values()) {
+                Files.deleteIfExists(previewPath(storedName, size));
+            }
+            Files.deleteIfExists(failedPath(storedName));
+            failedInMemory.remove(storedName);
+        } catch (IOException ex) {
+            log.warn("Could not delete preview of {}: {}", storedName, ex.getMessage());
+        }
+    }
+
+    private boolean isRendered(String storedName) {
+        return Files.exists(previewPath(storedName, Size.THUMB)) && Files.exists(previewPath(storedName, Size.PAGE));
+    }
+
+    private Path previewPath(String storedName, Size size) {
+        return previewLocation.resolve(storedName + "." + size.name().toLowerCase() + ".png").normalize();
+    }
+
+    private Path failedPath(String storedName) {
+        return previewLocation.resolve(storedName + FAILED_SUFFIX).normalize();
+    }
+
+    /** 미리보기 파일 이름에서 원본 stored_name 을 꺼낸다. 미리보기 파일이 아니면 null */
+    static String storedNameOf(String previewFileName) {
+        if (previewFileName.endsWith(FAILED_SUFFIX)) {
+            return previewFileName.substring(0, previewFileName.length() - FAILED_SUFFIX.length());
+        }
+        for (Size size : Size.values()) {
+            String suffix = "." + size.name().toLowerCase() + ".png";
+            if (previewFileName.endsWith(suffix)) {
+                return previewFileName.substring(0, previewFileName.length() - suffix.length());
+            }
+        }
+        return null;
+    }
+
+    private static String kindOf(String mimeType) {
+        if (mimeType == null) {
+            return null;
+        }
+        if (mimeType.equals("application/pdf")) {
+            return "pdf";
+        }
+        // SVG 는 ImageIO 로 그릴 수 없다
+        if (mimeType.startsWith("image/") && !mimeType.startsWith("image/svg")) {
+            return "image";
+        }
+        return null;
+    }
+
+    private void render(String kind, String storedName) throws IOException {
+        Path source = DocumentService.STORAGE_LOCATION.resolve(storedName).normalize();
+        if (!Files.exists(source)) {
+            throw new NoSuchFileException(source.toString());
+        }
+        BufferedImage page = kind.equals("pdf") ? renderFirstPage(source) : readImage(source);
+        Files.createDirectories(previewLocation);
+        // PAGE 를 먼저 쓰고 THUMB 는 그걸 줄여서 만든다
+        BufferedImage large = scale(page, Size.PAGE.maxEdge);
+        write(large, previewPath(storedName, Size.PAGE));
+        write(scale(large, Size.THUMB.maxEdge), previewPath(storedName, Size.THUMB));
+    }
+
+    private void markFailed(String storedName, Exception cause) {
+        try {
+            Files.createDirectories(previewLocation);
+            Files.writeString(failedPath(storedName), String.valueOf(cause.getMessage()));
+        } catch (IOException ex) {
+            failedInMemory.add(storedName);
+            log.warn("Could not record preview failure of {}: {}", storedName, ex.getMessage());
+        }
+    }
+
+    private static BufferedImage renderFirstPage(Path source) throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(source.toFile())) {
+            if (pdf.getNumberOfPages() == 0) {
+                throw new IOException("empty pdf");
+            }
+            float width = pdf.getPage(0).getMediaBox().getWidth();
+            float height = pdf.getPage(0).getMediaBox().getHeight();
+            // 긴 변이 PAGE 크기 정도가 되는 배율로만 그린다 (기본 72dpi = 1.0)
+            float scale = Math.min(4f, Size.PAGE.maxEdge / Math.max(1f, Math.max(width, height)));
+            return new PDFRenderer(pdf).renderImage(0, scale, ImageType.RGB);
+        }
+    }
+
+    /** 아주 큰 이미지는 전체를 풀지 않고 서브샘플링해서 읽는다 */
+    private static BufferedImage readImage(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (Size.PAGE.maxEdge * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int maxEdge) {
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    // 임시 파일에 쓰고 옮겨서, 조회하는 쪽이 반쯤 쓰인 파일을 보지 않게 한다
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".render", ".tmp");
+        try {
+            ImageIO.write(image, "png", temp.toFile());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] renderPlaceholder() {
+        BufferedImage image = new BufferedImage(Size.THUMB.maxEdge, Size.THUMB.maxEdge, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(new Color(0xEEEEEE));
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.project_01.document.service;
+
+import com.example.project_01.document.dto.DocumentResponse;
+import com.example.project_01.document.mapper.DocumentMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * upload/ 디렉터리와 project_documents 를 맞춰 본다.
+ * 1. stored_name 을 keyset 으로 훑어 해시 집합에 담는다
+ * 2. 디렉터리를 병렬로 훑어, DB 에 없고 grace-period 보다 오래된 파일은 .quarantine 으로 옮긴다
+ *    (격리 중 DB 에 다시 나타나면 되돌리고, quarantine-retention 이 지나면 지운다. 고아 미리보기는 바로 지운다)
+ * 3. DB 를 다시 훑어 파일이 없는 행(dangling)을 보고한다. 행은 지우지 않는다
+ * 파일 작업(stat/이동/삭제)은 IoThrottle 로 초당 횟수를 제한한다.
+ * 오래 걸리므로 공용 @Scheduled 스레드는 시작만 하고 바로 돌려주고, 대조는 전용 스레드에서 한다.
+ */
+@Slf4j
+@Component
+public class DocumentReconciler implements DisposableBean {
+
+    public record Report(OffsetDateTime startedAt, long files, long rows, int quarantined, int restored,
+                         int deleted, int previewsDeleted, int dangling, List<Long> danglingSample) {
+    }
+
+    private static final int DANGLING_SAMPLE = 20;
+
+    private final DocumentMapper documentMapper;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+    private final Duration quarantineRetention;
+    private final int parallelism;
+    private final int maxIoPerSecond;
+    private final int batchSize;
+    private final Path storage;
+    private final Path quarantine;
+    private final Path previews;
+    private final AtomicReference<Report> lastReport = new AtomicReference<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "document-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public DocumentReconciler(DocumentMapper documentMapper,
+            @Value("${documents.reconcile.enabled:true}") boolean enabled,
+            @Value("${documents.reconcile.grace-period:1h}") Duration gracePeriod,
+            @Value("${documents.reconcile.quarantine-retention:7d}") Duration quarantineRetention,
+            @Value("${documents.reconcile.parallelism:4}") int parallelism,
+            @Value("${documents.reconcile.max-io-per-second:200}") int maxIoPerSecond,
+            @Value("${documents.reconcile.batch-size:1000}") int batchSize,
+            MeterRegistry meterRegistry) {
+        this(documentMapper, DocumentService.STORAGE_LOCATION, enabled, gracePeriod, quarantineRetention, parallelism,
+                maxIoPerSecond, batchSize, meterRegistry);
+    }
+
+    // storage 는 upload/ 대신 다른 디렉터리를 훑을 때 (테스트)
+    DocumentReconciler(DocumentMapper documentMapper, Path storage, boolean enabled, Duration gracePeriod,
+            Duration quarantineRetention, int parallelism, int maxIoPerSecond, int batchSize,
+            MeterRegistry meterRegistry) {
+        this.documentMapper = documentMapper;
+        this.storage = storage;
+        this.quarantine = storage.resolve(".quarantine");
+        this.previews = storage.resolve(".previews");
+        this.enabled = enabled;
+        this.gracePeriod = gracePeriod;
+        this.quarantineRetention = quarantineRetention;
+        this.parallelism = parallelism;
+        this.maxIoPerSecond = maxIoPerSecond;
+        this.batchSize = batchSize;
+        Gauge.builder("documents.reconcile.dangling", lastReport, ref -> ref.get() == null ? 0 : ref.get().dangling())
+                .register(meterRegistry);
+        Gauge.builder("documents.reconcile.quarantined", lastReport,
+                ref -> ref.get() == null ? 0 : ref.get().quarantined()).register(meterRegistry);
+    }
+
+    public Report getLastReport() {
+        return lastReport.get();
+    }
+
+    @Scheduled(cron = "${documents.reconcile.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled || !Files.isDirectory(storage)) {
+            return;
+        }
+        // 이전 대조가 아직 돌고 있으면 이번 회차는 건너뛴다
+        if (!running.compareAndSet(false, true)) {
+            log.info("document reconciliation still running, skipping this run");
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                reconcile();
+            } catch (IOException | RuntimeException ex) {
+                log.warn("document reconciliation failed: {}", ex.getMessage(), ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+
+    public Report reconcile() throws IOException, InterruptedException {
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        Instant orphanCutoff = startedAt.toInstant().minus(gracePeriod);
+        Instant purgeCutoff = startedAt.toInstant().minus(quarantineRetention);
+        IoThrottle throttle = new IoThrottle(maxIoPerSecond);
+
+        LongHashSet known = new LongHashSet(batchSize);
+        long rows = forEachRow(row -> known.add(LongHashSet.hash(row.getStoredName())));
+
+        LongHashSet present = new LongHashSet(known.size());
+        AtomicInteger quarantined = new AtomicInteger();
+        AtomicInteger restored = new AtomicInteger();
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger previewsDeleted = new AtomicInteger();
+        AtomicInteger files = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            walk(pool, storage, file -> {
+                String name = file.getFileName().toString();
+                long hash = LongHashSet.hash(name);
+                files.incrementAndGet();
+                synchronized (present) {
+                    present.add(hash);
+                }
+                if (!known.contains(hash) && olderThan(file, orphanCutoff, throttle)) {
+                    Path target = quarantine.resolve(name);
+                    throttle.acquire();
+                    move(file, target);
+                    touch(target);
+                    quarantined.incrementAndGet();
+                }
+            });
+            walk(pool, quarantine, file -> {
+                String name = file.getFileName().toString();
+                if (known.contains(LongHashSet.hash(name))) {
+                    throttle.acquire();
+                    move(file, storage.resolve(name));
+                    synchronized (present) {
+                        present.add(LongHashSet.hash(name));
+                    }
+                    restored.incrementAndGet();
+                } else if (olderThan(file, purgeCutoff, throttle)) {
+                    throttle.acquire();
+                    delete(file);
+                    deleted.incrementAndGet();
+                }
+            });
+            walk(pool, previews, file -> {
+                String storedName = DocumentPreviews.storedNameOf(file.getFileName().toString());
+                if (storedName != null && !known.contains(LongHashSet.hash(storedName))
+                        && olderThan(file, orphanCutoff, throttle)) {
+                    throttle.acquire();
+                    delete(file);
+                    previewsDeleted.incrementAndGet();
+                }
+            });
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 훑는 사이에 올라온 문서는 파일 목록에 없을 수 있으므로 시작 이후 행은 보지 않는다
+        List<Long> sample = new ArrayList<>();
+        AtomicInteger dangling = new AtomicInteger();
+        forEachRow(row -> {
+            if (row.getCreatedAt() != null && row.getCreatedAt().isBefore(startedAt)
+                    && !present.contains(LongHashSet.hash(row.getStoredName()))) {
+                if (dangling.incrementAndGet() <= DANGLING_SAMPLE) {
+                    sample.add(row.getId());
+                }
+            }
+        });
+
+        Report report = new Report(startedAt, files.get(), rows, quarantined.get(), restored.get(), deleted.get(),
+                previewsDeleted.get(), dangling.get(), sample);
+        lastReport.set(report);
+        log.info("document reconciliation: {}", report);
+        if (report.dangling() > 0) {
+            log.warn("{} documents have no stored file, e.g. ids {}", report.dangling(), sample);
+        }
+        return report;
+    }
+
+    private long forEachRow(Consumer<DocumentResponse> action) {
+        long count = 0;
+        long afterId = 0;
+        while (true) {
+            List<DocumentResponse> page = documentMapper.findStoredNamesAfter(afterId, batchSize);
+            page.forEach(action);
+            count += page.size();
+            if (page.size() < batchSize) {
+                return count;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    /** dir 바로 아래의 일반 파일을 pool 에서 병렬로 처리한다. 숨김 항목(.previews, 임시 파일 등)은 건너뛴다 */
+    private static void walk(ForkJoinPool pool, Path dir, Consumer<Path> action)
+            throws IOException, InterruptedException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> entries = Files.list(dir)) {
+            pool.submit(() -> entries.parallel()
+                    .filter(path -> !path.getFileName().toString().startsWith("."))
+                    .forEach(action)).get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static boolean olderThan(Path file, Instant cutoff, IoThrottle throttle) {
+        throttle.acquire();
+        try {
+            return Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)
+                    && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (NoSuchFileException ex) {
+            return false;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void move(Path source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException ex) {
+            // 그사이 삭제됨
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // 격리 기간은 옮긴 시각부터 센다
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (NoSuchFileException ex) {
+            // 그사이 되돌려짐
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
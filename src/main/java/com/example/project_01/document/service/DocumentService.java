@@ -1,16 +1,23 @@
 package com.example.project_01.document.service;
 
+import com.example.project_01.config.TransactionHooks;
 import com.example.project_01.document.dto.DocumentRequest;
 import com.example.project_01.document.dto.DocumentResponse;
 import com.example.project_01.document.mapper.DocumentMapper;
+import com.example.project_01.project.mapper.ProjectMapper;
+import com.example.project_01.search.dto.SearchDocument;
+import com.example.project_01.search.service.SearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -18,7 +25,6 @@ import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,12 +35,23 @@ import java.util.UUID;
 public class DocumentService {
 
     private final DocumentMapper documentMapper;
+    private final SearchIndex searchIndex;
+    private final DocumentPreviews documentPreviews;
+    private final DocumentCompression documentCompression;
+    private final ProjectMapper projectMapper;
 
     // File upload directory
-    private final Path fileStorageLocation = Paths.get("upload").toAbsolutePath().normalize();
+    static final Path STORAGE_LOCATION = Paths.get("upload").toAbsolutePath().normalize();
+
+    private final Path fileStorageLocation = STORAGE_LOCATION;
 
     public DocumentResponse uploadFile(Long projectId, MultipartFile file, String title, String description,
             String docType) {
+        // 삭제 요청된 프로젝트면 파일을 쓰기 전에 거절한다 (ProjectPurger 가 이미 지나갔을 수 있다)
+        if (projectMapper.lockActiveProject(projectId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "project not found: " + projectId);
+        }
+
         // Normalize file name
         String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
 
@@ -53,8 +70,10 @@ public class DocumentService {
             String storedFileName = UUID.randomUUID().toString() + "_" + originalFileName;
             Path targetLocation = this.fileStorageLocation.resolve(storedFileName);
 
-            // Copy file to the target location (Replacing existing file with the same name)
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            // Copy file to the target location (compressible types are stored gzipped)
+            String contentEncoding = documentCompression.store(file, targetLocation);
+            // DB 기록이 롤백되면 방금 쓴 파일도 지운다 (남은 건 DocumentReconciler 가 정리)
+            TransactionHooks.afterRollback(() -> deleteStoredFile(storedFileName));
 
             // Create DB record
             DocumentResponse document = new DocumentResponse();
@@ -66,20 +85,26 @@ public class DocumentService {
             document.setStoredName(storedFileName);
             document.setFileSize(file.getSize());
             document.setMimeType(file.getContentType());
+            document.setContentEncoding(contentEncoding);
 
             documentMapper.insertDocument(document);
 
             // Return created document (with generated ID)
-            return documentMapper.findById(document.getId()).orElse(document);
+            DocumentResponse created = documentMapper.findById(document.getId()).orElse(document);
+            TransactionHooks.afterCommit(() -> {
+                searchIndex.index(SearchDocument.of(created));
+                documentPreviews.submit(created);
+            });
+            return created;
 
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file " + originalFileName + ". Please try again!", ex);
         }
     }
 
-    @Transactional(readOnly = true)
-    public List<DocumentResponse> getDocumentsByProject(Long projectId) {
-        return documentMapper.findByProjectId(projectId);
+    // 캐시되는 조회라 primary 로 읽는다 (replica 결과는 캐시에 넣지 않으므로 readOnly 면 캐시가 채워지지 않는다)
+    public List<DocumentResponse> getDocumentsByProject(Long projectId, List<String> columns) {
+        return documentMapper.findByProjectId(projectId, columns);
     }
 
     public Resource loadFileAsResource(Long documentId) {
@@ -100,6 +125,51 @@ public class DocumentService {
         }
     }
 
+    /**
+     * 다운로드할 본문. 압축 저장된 파일은 클라이언트가 그 방식을 받으면 그대로, 아니면 풀면서 보낸다.
+     * contentEncoding 이 null 이 아니면 Content-Encoding 헤더로 내려야 한다.
+     */
+    @Transactional(readOnly = true)
+    public Download download(Long documentId, String acceptEncoding) {
+        DocumentResponse doc = getDocument(documentId);
+        Resource resource = loadFileAsResource(documentId);
+        String encoding = doc.getContentEncoding();
+        if (encoding == null || DocumentCompression.accepts(acceptEncoding, encoding)) {
+            return new Download(doc, resource, encoding);
+        }
+        try {
+            return new Download(doc,
+                    new InputStreamResource(documentCompression.decode(resource.getInputStream(), encoding)), null);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read file " + doc.getStoredName(), ex);
+        }
+    }
+
+    public record Download(DocumentResponse document, Resource resource, String contentEncoding) {
+    }
+
+    @Transactional(readOnly = true)
+    public DocumentPreviews.Preview getPreview(Long id, String size) {
+        DocumentPreviews.Size previewSize = switch (size == null ? "thumb" : size) {
+            case "thumb" -> DocumentPreviews.Size.THUMB;
+            case "page" -> DocumentPreviews.Size.PAGE;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown preview size: " + size);
+        };
+        DocumentResponse doc = getDocument(id);
+        if (!documentPreviews.supports(doc.getMimeType())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "no preview for " + doc.getMimeType());
+        }
+        if (documentPreviews.hasFailed(doc.getStoredName())) {
+            // 깨진 파일이나 읽을 수 없는 형식: 202 로 계속 다시 요청하게 두지 않는다
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "preview could not be rendered");
+        }
+        if (!Files.exists(fileStorageLocation.resolve(doc.getStoredName()).normalize())) {
+            // 원본이 없으면 렌더링 요청이 아무것도 만들지 못하므로 202 대신 404
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "document file is missing");
+        }
+        return documentPreviews.get(doc, previewSize);
+    }
+
     public DocumentResponse getDocument(Long id) {
         return documentMapper.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id " + id));
@@ -107,21 +177,28 @@ public class DocumentService {
 
     public void updateDocument(Long id, DocumentRequest request) {
         documentMapper.updateDocument(id, request);
+        documentMapper.findById(id).ifPresent(updated ->
+                TransactionHooks.afterCommit(() -> searchIndex.index(SearchDocument.of(updated))));
     }
 
     public void deleteDocument(Long id) {
         DocumentResponse doc = documentMapper.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id " + id));
 
-        // Delete file from storage
+        documentMapper.deleteDocument(id);
+        // 파일은 DB 삭제가 커밋된 뒤에 지운다. 실패해도 남은 파일은 DocumentReconciler 가 정리한다
+        TransactionHooks.afterCommit(() -> {
+            deleteStoredFile(doc.getStoredName());
+            searchIndex.remove(SearchDocument.DOCUMENT, doc.getProjectId(), id);
+            documentPreviews.delete(doc.getStoredName());
+        });
+    }
+
+    private void deleteStoredFile(String storedName) {
         try {
-            Path filePath = this.fileStorageLocation.resolve(doc.getStoredName()).normalize();
-            Files.deleteIfExists(filePath);
+            Files.deleteIfExists(this.fileStorageLocation.resolve(storedName).normalize());
         } catch (IOException ex) {
-            log.error("Could not delete file: {}", doc.getStoredName(), ex);
-            // We continue to delete DB record even if file delete fails
+            log.error("Could not delete file: {}", storedName, ex);
         }
-
-        documentMapper.deleteDocument(id);
     }
 }
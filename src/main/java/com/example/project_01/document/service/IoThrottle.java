@@ -0,0 +1,38 @@
+package com.example.project_01.document.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 초당 파일 작업 수 제한. 여러 스레드가 같이 써도 전체 합이 한도를 넘지 않도록 다음 허용 시각을 나눠 준다.
+ * 한도가 0 이하면 제한하지 않는다.
+ */
+final class IoThrottle {
+
+    private final long intervalNanos;
+    private long nextSlot = System.nanoTime();
+
+    IoThrottle(int operationsPerSecond) {
+        this.intervalNanos = operationsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / operationsPerSecond : 0;
+    }
+
+    void acquire() {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long slot;
+        synchronized (this) {
+            long now = System.nanoTime();
+            slot = Math.max(nextSlot, now);
+            nextSlot = slot + intervalNanos;
+        }
+        long wait;
+        while ((wait = slot - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
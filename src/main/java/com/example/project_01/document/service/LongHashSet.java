@@ -0,0 +1,92 @@
+package com.example.project_01.document.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 64비트 해시만 담는 open addressing 집합. 파일 이름 수십만 개도 String 없이 원소당 8~16바이트로 담는다.
+ * 해시 충돌이 나면 "있다"고 답하므로, 호출하는 쪽은 잘못 "있다"고 해도 안전한 방향으로만 써야 한다.
+ * 스레드 안전하지 않다.
+ */
+final class LongHashSet {
+
+    // 0 은 빈 칸 표시로 쓰므로 해시가 0 이면 이 값으로 바꾼다
+    private static final long ZERO_REPLACEMENT = 0x9E3779B97F4A7C15L;
+
+    private long[] table;
+    private int size;
+
+    LongHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        table = new long[capacity];
+    }
+
+    static long hash(String value) {
+        // FNV-1a 64 후 murmur3 fmix64 로 섞는다
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // murmur3 fmix64. 0 은 0 으로 섞이므로 따로 바꾼다
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? ZERO_REPLACEMENT : h;
+    }
+
+    boolean add(long hash) {
+        if ((size + 1) * 2 > table.length) {
+            grow();
+        }
+        if (insert(table, hash)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    boolean contains(long hash) {
+        int mask = table.length - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            if (table[i] == 0) {
+                return false;
+            }
+            if (table[i] == hash) {
+                return true;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static boolean insert(long[] table, long hash) {
+        int mask = table.length - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            if (table[i] == 0) {
+                table[i] = hash;
+                return true;
+            }
+            if (table[i] == hash) {
+                return false;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] larger = new long[table.length * 2];
+        for (long hash : table) {
+            if (hash != 0) {
+                insert(larger, hash);
+            }
+        }
+        table = larger;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.project_01.main.controller;
 
+import com.example.project_01.config.AnalyticsBulkhead;
+import com.example.project_01.config.SingleFlight;
 import com.example.project_01.main.dto.MainItemDto;
 import com.example.project_01.main.dto.MainHeroDto;
 import com.example.project_01.main.dto.MainSummaryDto;
@@ -10,26 +12,30 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/main")
+// 격벽에 넣기 전에 합친다: 같은 요청이 몰려도 격벽 자리는 하나만 쓴다
+@SingleFlight
 public class MainController {
 
     private final MainService mainService;
+    private final AnalyticsBulkhead analyticsBulkhead;
 
     @GetMapping("/items")
-    public List<MainItemDto> getMainItems() {
-        return mainService.getMainItems();
+    public CompletableFuture<List<MainItemDto>> getMainItems() {
+        return analyticsBulkhead.submit(mainService::getMainItems);
     }
 
     @GetMapping("/hero")
-    public MainHeroDto getHeroData() {
-        return mainService.getHeroData();
+    public CompletableFuture<MainHeroDto> getHeroData() {
+        return analyticsBulkhead.submit(mainService::getHeroData);
     }
 
     @GetMapping("/summary")
-    public MainSummaryDto getSummaryData() {
-        return mainService.getSummaryData();
+    public CompletableFuture<MainSummaryDto> getSummaryData() {
+        return analyticsBulkhead.submit(mainService::getSummaryData);
     }
 }
@@ -1,8 +1,13 @@
 package com.example.project_01.project.controller;
+import com.example.project_01.config.FieldSelection;
+import com.example.project_01.project.dto.ProjectOverviewResponse;
+import com.example.project_01.project.dto.ProjectPurgeResponse;
 import com.example.project_01.project.dto.ProjectRequest;
 import com.example.project_01.project.dto.ProjectResponse;
 import com.example.project_01.project.service.ProjectService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,8 +21,9 @@ public class ProjectController {
     private final ProjectService projectService;
 
     @GetMapping
-    public List<ProjectResponse> list() {
-        return projectService.list();
+    public MappingJacksonValue list(@RequestParam(required = false) String fields) {
+        FieldSelection.Selection selection = ProjectResponse.FIELDS.select(fields);
+        return selection.wrap(projectService.list(selection.columns()));
         //return List.of(); // 빈 배열이라도 200 OK로 내려감
     }
 
@@ -26,6 +32,12 @@ public class ProjectController {
         return projectService.detail(id);
     }
 
+    // 프로젝트 + 작업 + 문서 + 완료 통계 (한 번의 요청/쿼리)
+    @GetMapping("/{id}/overview")
+    public ProjectOverviewResponse overview(@PathVariable Long id) {
+        return projectService.overview(id);
+    }
+
     @PostMapping
     public void create(@RequestBody ProjectRequest request) {
         projectService.create(request);
@@ -36,8 +48,15 @@ public class ProjectController {
         projectService.update(id, request);
     }
 
+    // 바로 202 를 돌려주고, 실제 정리는 백그라운드에서 한다. 진행 상황은 /{id}/purge
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable Long id) {
-        projectService.delete(id);
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ProjectPurgeResponse delete(@PathVariable Long id) {
+        return projectService.delete(id);
+    }
+
+    @GetMapping("/{id}/purge")
+    public ProjectPurgeResponse purgeStatus(@PathVariable Long id) {
+        return projectService.purgeStatus(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.project_01.project.dto;
+
+import com.example.project_01.document.dto.DocumentResponse;
+import com.example.project_01.task.dto.TaskResponse;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectOverviewResponse {
+    private ProjectResponse project;
+    private List<TaskResponse> tasks;
+    private List<DocumentResponse> documents;
+    private Stats stats;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Stats {
+        private long totalTasks;
+        private long completedTasks;
+        private long remainingTasks;
+        private double completionRate;
+    }
+}
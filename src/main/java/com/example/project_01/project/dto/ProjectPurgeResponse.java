@@ -0,0 +1,47 @@
+package com.example.project_01.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/** project_purge_jobs 한 행. phase: tasks -> documents -> done */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectPurgeResponse {
+    public static final String PHASE_TASKS = "tasks";
+    public static final String PHASE_DOCUMENTS = "documents";
+    public static final String PHASE_DONE = "done";
+
+    private Long projectId;
+    private String phase;
+    private long tasksTotal;
+    private long tasksDeleted;
+    private long documentsTotal;
+    private long documentsDeleted;
+    private long filesDeleted;
+    @JsonIgnore
+    private long lastTaskId;
+    @JsonIgnore
+    private long lastDocumentId;
+    private String lastError;
+    private OffsetDateTime requestedAt;
+    private OffsetDateTime updatedAt;
+    private OffsetDateTime finishedAt;
+
+    // 정리 도중 새로 생긴 행이 있으면 total 을 넘을 수 있어 100 에서 자른다
+    public double getPercent() {
+        if (PHASE_DONE.equals(phase)) {
+            return 100.0;
+        }
+        long total = tasksTotal + documentsTotal;
+        if (total == 0) {
+            return 0.0;
+        }
+        double rate = (double) (tasksDeleted + documentsDeleted) / total * 100;
+        return Math.min(99.9, Math.round(rate * 10.0) / 10.0);
+    }
+}
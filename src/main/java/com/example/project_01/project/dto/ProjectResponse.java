@@ -1,9 +1,26 @@
 package com.example.project_01.project.dto;
 
+import com.example.project_01.config.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
-public class ProjectResponse {
+@JsonFilter(FieldSelection.FILTER_ID)
+public class ProjectResponse implements Serializable {
+    public static final FieldSelection FIELDS = new FieldSelection()
+            .key("id", "id")
+            .field("name", "name")
+            .field("category", "category")
+            .field("priority", "priority")
+            .field("status", "status")
+            .field("deadline", "deadline")
+            .field("description", "description")
+            .field("progress", "progress")
+            .field("createdAt", "created_at")
+            .field("updatedAt", "updated_at");
+
     private Long id;
     private String name;
     private String category;
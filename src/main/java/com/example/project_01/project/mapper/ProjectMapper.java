@@ -5,11 +5,16 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Optional;
 @Mapper
 public interface ProjectMapper {
-    List<ProjectResponse> projectsList();
+    List<ProjectResponse> projectsList(@Param("columns") List<String> columns);
     ProjectResponse projectDetail(@Param("id") Long id);
-    int projectInsert(ProjectRequest request);
+    // 프로젝트 + 작업 + 문서 + 통계를 JSON 으로 집계해 한 번에 조회
+    String projectOverview(@Param("id") Long id);
+    int projectInsert(ProjectResponse project);
     int projectUpdate(@Param("id") Long id, @Param("request") ProjectRequest request);
-    int projectDelete(@Param("id") Long id);
+    int projectSoftDelete(@Param("id") Long id);
+    // 없거나 삭제 요청된 프로젝트면 empty
+    Optional<Long> lockActiveProject(@Param("id") Long id);
 }
@@ -0,0 +1,41 @@
+package com.example.project_01.project.mapper;
+
+import com.example.project_01.document.dto.DocumentResponse;
+import com.example.project_01.project.dto.ProjectPurgeResponse;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+@Mapper
+public interface ProjectPurgeMapper {
+    // 소프트 삭제된 프로젝트의 정리 작업을 만든다. total 은 이 시점의 행 수
+    int insertJob(@Param("projectId") Long projectId);
+
+    Optional<ProjectPurgeResponse> findJob(@Param("projectId") Long projectId);
+
+    List<Long> findPendingProjectIds(@Param("limit") int limit);
+
+    // 다른 인스턴스가 같은 작업의 배치를 처리 중이면 비어 있다
+    Optional<ProjectPurgeResponse> lockJob(@Param("projectId") Long projectId);
+
+    List<Long> findTaskBatch(@Param("projectId") Long projectId, @Param("afterId") long afterId,
+                             @Param("limit") int limit);
+
+    int deleteTasks(@Param("projectId") Long projectId, @Param("taskIds") List<Long> taskIds);
+
+    List<DocumentResponse> findDocumentBatch(@Param("projectId") Long projectId, @Param("afterId") long afterId,
+                                             @Param("limit") int limit);
+
+    int deleteDocuments(@Param("projectId") Long projectId, @Param("documentIds") List<Long> documentIds);
+
+    // 남은 행(커서 이후에 생긴 것 포함)은 FK cascade 로 함께 지워진다
+    int deleteProject(@Param("projectId") Long projectId);
+
+    int updateJob(ProjectPurgeResponse job);
+
+    int addFilesDeleted(@Param("projectId") Long projectId, @Param("count") int count);
+
+    int recordError(@Param("projectId") Long projectId, @Param("error") String error);
+}
@@ -0,0 +1,143 @@
+package com.example.project_01.project.service;
+
+import com.example.project_01.config.CacheInvalidationBus;
+import com.example.project_01.document.dto.DocumentResponse;
+import com.example.project_01.document.mapper.DocumentMapper;
+import com.example.project_01.document.service.DocumentFileCleaner;
+import com.example.project_01.project.dto.ProjectPurgeResponse;
+import com.example.project_01.project.mapper.ProjectPurgeMapper;
+import com.example.project_01.task.mapper.TaskEventMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 소프트 삭제된 프로젝트의 작업 -> 문서 -> 프로젝트 행 순서로 지운다.
+ * 배치마다 짧은 트랜잭션 하나(작업 행 잠금 + keyset 커서 전진)라 잠금이 오래 잡히지 않고, 중간에 죽어도 이어서 진행한다.
+ * 파일은 문서 행 삭제가 커밋된 뒤 DocumentFileCleaner 로 지운다 (초당 횟수 제한).
+ * 한 번 돌 때 max-run 까지만 일하고 스케줄러 스레드를 돌려준다.
+ */
+@Slf4j
+@Component
+public class ProjectPurger {
+
+    private static final int JOBS_PER_RUN = 10;
+
+    private final ProjectPurgeMapper purgeMapper;
+    private final TaskEventMapper taskEventMapper;
+    private final DocumentFileCleaner fileCleaner;
+    private final CacheInvalidationBus cacheInvalidation;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration maxRun;
+
+    public ProjectPurger(ProjectPurgeMapper purgeMapper, TaskEventMapper taskEventMapper,
+            DocumentFileCleaner fileCleaner, CacheInvalidationBus cacheInvalidation,
+            PlatformTransactionManager transactionManager,
+            @Value("${project-purge.batch-size:500}") int batchSize,
+            @Value("${project-purge.batch-pause:50ms}") Duration batchPause,
+            @Value("${project-purge.max-run:10s}") Duration maxRun) {
+        this.purgeMapper = purgeMapper;
+        this.taskEventMapper = taskEventMapper;
+        this.fileCleaner = fileCleaner;
+        this.cacheInvalidation = cacheInvalidation;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxRun = maxRun;
+    }
+
+    @Scheduled(fixedDelayString = "${project-purge.poll-interval-ms:2000}")
+    public void run() {
+        long stopAt = System.nanoTime() + maxRun.toNanos();
+        for (Long projectId : purgeMapper.findPendingProjectIds(JOBS_PER_RUN)) {
+            try {
+                while (purgeBatch(projectId)) {
+                    if (System.nanoTime() >= stopAt || !pause()) {
+                        return;
+                    }
+                }
+            } catch (RuntimeException ex) {
+                // 커서는 마지막으로 커밋된 배치에 있으므로 다음 번에 그 자리부터 다시 한다
+                log.warn("project purge failed for {}: {}", projectId, ex.getMessage());
+                purgeMapper.recordError(projectId, ex.getMessage());
+            }
+            if (System.nanoTime() >= stopAt) {
+                return;
+            }
+        }
+    }
+
+    /** 배치 하나를 처리한다. 같은 프로젝트에 할 일이 더 남았으면 true */
+    boolean purgeBatch(Long projectId) {
+        List<String> storedNames = new ArrayList<>();
+        Boolean more = transactionTemplate.execute(status -> {
+            // 다른 인스턴스가 이 작업의 배치를 처리 중이면 이번엔 넘어간다
+            ProjectPurgeResponse job = purgeMapper.lockJob(projectId).orElse(null);
+            if (job == null) {
+                return false;
+            }
+            switch (job.getPhase()) {
+                case ProjectPurgeResponse.PHASE_TASKS -> purgeTasks(job);
+                case ProjectPurgeResponse.PHASE_DOCUMENTS -> purgeDocuments(job, storedNames);
+                default -> {
+                    return false;
+                }
+            }
+            purgeMapper.updateJob(job);
+            return !ProjectPurgeResponse.PHASE_DONE.equals(job.getPhase());
+        });
+        if (!storedNames.isEmpty()) {
+            purgeMapper.addFilesDeleted(projectId, fileCleaner.remove(storedNames));
+        }
+        return Boolean.TRUE.equals(more);
+    }
+
+    private void purgeTasks(ProjectPurgeResponse job) {
+        List<Long> taskIds = purgeMapper.findTaskBatch(job.getProjectId(), job.getLastTaskId(), batchSize);
+        if (taskIds.isEmpty()) {
+            job.setPhase(ProjectPurgeResponse.PHASE_DOCUMENTS);
+            return;
+        }
+        // 번다운 차트가 맞도록 삭제 이벤트는 삭제 요청 시각으로 남긴다
+        taskEventMapper.insertDeletedForTasks(job.getProjectId(), taskIds, job.getRequestedAt());
+        job.setTasksDeleted(job.getTasksDeleted() + purgeMapper.deleteTasks(job.getProjectId(), taskIds));
+        job.setLastTaskId(taskIds.get(taskIds.size() - 1));
+    }
+
+    private void purgeDocuments(ProjectPurgeResponse job, List<String> storedNames) {
+        List<DocumentResponse> documents =
+                purgeMapper.findDocumentBatch(job.getProjectId(), job.getLastDocumentId(), batchSize);
+        if (documents.isEmpty()) {
+            purgeMapper.deleteProject(job.getProjectId());
+            job.setPhase(ProjectPurgeResponse.PHASE_DONE);
+            return;
+        }
+        List<Long> documentIds = documents.stream().map(DocumentResponse::getId).toList();
+        job.setDocumentsDeleted(job.getDocumentsDeleted()
+                + purgeMapper.deleteDocuments(job.getProjectId(), documentIds));
+        job.setLastDocumentId(documentIds.get(documentIds.size() - 1));
+        // DocumentMapper 밖의 삭제라서 findByProjectId 캐시를 직접 비운다 (알림은 이 배치가 커밋될 때 나간다)
+        cacheInvalidation.invalidate(DocumentMapper.class);
+        documents.forEach(document -> storedNames.add(document.getStoredName()));
+    }
+
+    private boolean pause() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(batchPause.toNanos());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package com.example.project_01.project.service;
 
+import com.example.project_01.analytics.service.LeadTimeSketches;
+import com.example.project_01.config.TransactionHooks;
+import com.example.project_01.project.dto.ProjectOverviewResponse;
+import com.example.project_01.project.dto.ProjectPurgeResponse;
 import com.example.project_01.project.dto.ProjectRequest;
 import com.example.project_01.project.dto.ProjectResponse;
 import com.example.project_01.project.mapper.ProjectMapper;
+import com.example.project_01.project.mapper.ProjectPurgeMapper;
+import com.example.project_01.reminder.service.DeadlineReminders;
+import com.example.project_01.search.dto.SearchDocument;
+import com.example.project_01.search.service.SearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @Service
 @RequiredArgsConstructor
@@ -14,24 +28,80 @@ import java.util.List;
 public class ProjectService {
 
     private final ProjectMapper projectMapper;
+    private final SearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final LeadTimeSketches leadTimeSketches;
+    private final ProjectPurgeMapper projectPurgeMapper;
+    private final DeadlineReminders deadlineReminders;
 
-    public List<ProjectResponse> list() {
-        return projectMapper.projectsList();
+    public List<ProjectResponse> list(List<String> columns) {
+        return projectMapper.projectsList(columns);
     }
 
     public ProjectResponse detail(Long id) {
         return projectMapper.projectDetail(id);
     }
 
+    @Transactional(readOnly = true)
+    public ProjectOverviewResponse overview(Long id) {
+        ProjectOverviewResponse overview;
+        try {
+            overview = objectMapper.readValue(projectMapper.projectOverview(id), ProjectOverviewResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new RuntimeException("Could not read project overview " + id, ex);
+        }
+        if (overview.getProject() == null) {
+            throw new NoSuchElementException("project not found: " + id);
+        }
+
+        ProjectOverviewResponse.Stats stats = overview.getStats();
+        stats.setRemainingTasks(stats.getTotalTasks() - stats.getCompletedTasks());
+        double rate = stats.getTotalTasks() == 0 ? 0 : (double) stats.getCompletedTasks() / stats.getTotalTasks() * 100;
+        stats.setCompletionRate(Math.round(rate * 10.0) / 10.0);
+        return overview;
+    }
+
     public void create(ProjectRequest request) {
-        projectMapper.projectInsert(request);
+        ProjectResponse project = new ProjectResponse();
+        project.setName(request.name());
+        project.setCategory(request.category());
+        project.setPriority(request.priority());
+        project.setStatus(request.status());
+        project.setDeadline(request.deadline());
+        project.setDescription(request.description());
+        project.setProgress(request.progress());
+        projectMapper.projectInsert(project);
+        TransactionHooks.afterCommit(() -> searchIndex.index(SearchDocument.of(project)));
     }
 
     public void update(Long id, ProjectRequest request) {
-        projectMapper.projectUpdate(id, request);
+        // 없거나 삭제 요청된 프로젝트를 색인에 되살리지 않는다
+        if (projectMapper.projectUpdate(id, request) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "project not found: " + id);
+        }
+        TransactionHooks.afterCommit(() -> searchIndex.index(new SearchDocument(
+                SearchDocument.PROJECT, id, id, request.name(), request.description())));
+    }
+
+    /**
+     * 프로젝트는 바로 목록에서 빠지고(deleted_at), 작업/문서/파일은 ProjectPurger 가 작은 배치로 지운다.
+     * 이미 삭제 요청된 프로젝트면 기존 진행 상황을 돌려준다.
+     */
+    public ProjectPurgeResponse delete(Long id) {
+        if (projectMapper.projectSoftDelete(id) > 0) {
+            projectPurgeMapper.insertJob(id);
+            TransactionHooks.afterCommit(() -> {
+                searchIndex.removeProject(id);
+                leadTimeSketches.removeProject(id);
+                deadlineReminders.projectRemoved(id);
+            });
+        }
+        return purgeStatus(id);
     }
 
-    public void delete(Long id) {
-        projectMapper.projectDelete(id);
+    @Transactional(readOnly = true)
+    public ProjectPurgeResponse purgeStatus(Long id) {
+        return projectPurgeMapper.findJob(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "no purge for project " + id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.project_01.reminder.controller;
+
+import com.example.project_01.reminder.dto.ReminderResponse;
+import com.example.project_01.reminder.service.DeadlineReminders;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/reminders")
+public class ReminderController {
+
+    private final DeadlineReminders deadlineReminders;
+
+    // since 이후 발송된 알림 (최신순). 화면은 마지막으로 받은 firedAt 을 since 로 넘겨 폴링한다
+    @GetMapping
+    public List<ReminderResponse> recent(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @RequestParam(defaultValue = "50") int limit) {
+        return deadlineReminders.recent(since == null ? OffsetDateTime.now().minusDays(1) : since, limit);
+    }
+}
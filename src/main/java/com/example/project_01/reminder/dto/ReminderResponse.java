@@ -0,0 +1,33 @@
+package com.example.project_01.reminder.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+/** reminder_fired 한 행. kind 가 task 면 refId 는 task_id, event 면 calendar_event.id */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReminderResponse {
+    public static final String TASK = "task";
+    public static final String EVENT = "event";
+
+    private String sourceKey;
+    private LocalDateTime dueAt;
+    private String kind;
+    private Long projectId;
+    private Long refId;
+    private String title;
+    private OffsetDateTime firedAt;
+
+    public static String taskKey(Long projectId, Long taskId) {
+        return TASK + ":" + projectId + ":" + taskId;
+    }
+
+    public static String eventKey(Long eventId) {
+        return EVENT + ":" + eventId;
+    }
+}
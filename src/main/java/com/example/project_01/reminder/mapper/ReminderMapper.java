@@ -0,0 +1,26 @@
+package com.example.project_01.reminder.mapper;
+
+import com.example.project_01.reminder.dto.ReminderResponse;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Mapper
+public interface ReminderMapper {
+    // 이미 발송된 알림이면 0
+    int insertFired(ReminderResponse reminder);
+
+    // 재적재 시 건너뛸 (source_key, due_at)
+    List<ReminderResponse> findFiredKeys(@Param("firedAfter") OffsetDateTime firedAfter);
+
+    List<ReminderResponse> findRecent(@Param("firedAfter") OffsetDateTime firedAfter, @Param("limit") int limit);
+
+    // 울리기 직전 확인: 아직 열려 있는 작업의 마감일 (완료/삭제/프로젝트 삭제면 empty)
+    Optional<LocalDate> findOpenTaskDeadline(@Param("projectId") Long projectId, @Param("taskId") Long taskId);
+
+    int deleteFiredBefore(@Param("before") OffsetDateTime before);
+}
@@ -0,0 +1,381 @@
+package com.example.project_01.reminder.service;
+
+import com.example.project_01.calendar.dto.CalendarEventException;
+import com.example.project_01.calendar.dto.CalendarResponse;
+import com.example.project_01.calendar.mapper.CalendarMapper;
+import com.example.project_01.calendar.service.OccurrenceIterator;
+import com.example.project_01.reminder.dto.ReminderResponse;
+import com.example.project_01.reminder.mapper.ReminderMapper;
+import com.example.project_01.task.dto.TaskResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업 마감일과 일정 시작 전에 알림을 보낸다 (reminder_fired 에 기록, GET /api/reminders 로 조회).
+ * horizon 안에 울릴 알림만 TimingWheel 에 올려 두고, 틱마다 만기된 칸만 꺼낸다. tasks 를 주기적으로 훑지 않는다.
+ * - 적재: 시작 시와 reload-interval 마다 마감일/일정 날짜 인덱스로 구간 조회해서 휠을 다시 채운다
+ *   (다른 인스턴스에서 바뀐 작업/일정도 이때 반영된다)
+ * - 갱신: TaskService/CalendarService 가 커밋 후 알려 주면 그 작업/일정의 타이머만 바꾼다
+ * - 다른 인스턴스의 변경은 다음 적재 전까지 휠에 남아 있으므로, 울리기 직전에 작업/일정 행을 다시 읽어
+ *   아직 같은 시각에 울려야 하는지 확인한다 (완료/삭제/마감 변경이면 버린다)
+ * - 중복/누락: (source_key, due_at) 로 한 번만 기록된다. 서버가 꺼져 있는 동안 지난 알림은
+ *   마감 시각이 catch-up 안쪽이면 다시 적재할 때 바로 보낸다
+ */
+@Slf4j
+@Component
+public class DeadlineReminders implements DisposableBean {
+
+    private static final int WHEEL_SIZE = 60;
+    private static final long RETRY_MILLIS = 30_000;
+
+    private final ReminderMapper reminderMapper;
+    private final CalendarMapper calendarMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final Duration horizon;
+    private final Duration catchUp;
+    private final Duration retention;
+    private final LocalTime taskDueTime;
+    private final Duration taskLead;
+    private final LocalTime allDayEventTime;
+    private final Duration eventLead;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // 아래 둘은 this 로 잠그고 쓴다
+    private final TimingWheel<ReminderResponse> wheel;
+    // source_key -> 예약된 타이머 (작업/일정이 바뀌면 취소)
+    private final Map<String, List<TimingWheel.Timer<ReminderResponse>>> scheduled = new HashMap<>();
+    // reload 가 후보를 읽는 동안 바뀐 작업/일정 키와 삭제된 프로젝트 (reload 중이 아니면 null)
+    private Set<String> changedDuringReload;
+    private Set<Long> projectsRemovedDuringReload;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reminder-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeadlineReminders(ReminderMapper reminderMapper, CalendarMapper calendarMapper,
+            MeterRegistry meterRegistry,
+            @Value("${reminders.enabled:true}") boolean enabled,
+            @Value("${reminders.tick:1s}") Duration tick,
+            @Value("${reminders.horizon:48h}") Duration horizon,
+            @Value("${reminders.catch-up:6h}") Duration catchUp,
+            @Value("${reminders.retention:30d}") Duration retention,
+            @Value("${reminders.task.due-time:09:00}") String taskDueTime,
+            @Value("${reminders.task.lead:24h}") Duration taskLead,
+            @Value("${reminders.event.all-day-time:09:00}") String allDayEventTime,
+            @Value("${reminders.event.lead:15m}") Duration eventLead) {
+        this.reminderMapper = reminderMapper;
+        this.calendarMapper = calendarMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.tickMillis = tick.toMillis();
+        this.horizon = horizon;
+        this.catchUp = catchUp;
+        this.retention = retention;
+        this.taskDueTime = LocalTime.parse(taskDueTime);
+        this.taskLead = taskLead;
+        this.allDayEventTime = LocalTime.parse(allDayEventTime);
+        this.eventLead = eventLead;
+        // 틱이 밀려도 horizon 끝의 알림이 들어가도록 두 배로 잡는다
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, horizon.toMillis() * 2, System.currentTimeMillis());
+        Gauge.builder("reminders.scheduled", scheduled, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        reload();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public List<ReminderResponse> recent(OffsetDateTime since, int limit) {
+        if (limit < 1 || limit > 200) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be 1..200");
+        }
+        return reminderMapper.findRecent(since, limit);
+    }
+
+    /** 앞으로 horizon 안에 울릴 알림으로 휠을 다시 채운다 */
+    @Scheduled(fixedDelayString = "${reminders.reload-interval-ms:600000}",
+            initialDelayString = "${reminders.reload-interval-ms:600000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            changedDuringReload = new HashSet<>();
+            projectsRemovedDuringReload = new HashSet<>();
+        }
+        List<ReminderResponse> dueNow = new ArrayList<>();
+        int candidateCount;
+        int firedCount;
+        try {
+            LocalDateTime now = LocalDateTime.now(zone);
+            LocalDate from = now.minus(catchUp).toLocalDate();
+            List<ReminderResponse> candidates = new ArrayList<>();
+            calendarMapper.findTaskDeadlines(from, now.plus(horizon).plus(taskLead).toLocalDate())
+                    .forEach(task -> candidates.add(taskReminder(task)));
+            LocalDate eventsTo = now.plus(horizon).plus(eventLead).toLocalDate();
+            List<CalendarResponse> events = calendarMapper.findByDateRange(from, eventsTo, null);
+            List<Long> recurringIds = events.stream()
+                    .filter(e -> e.getRecurFreq() != null)
+                    .map(CalendarResponse::getId)
+                    .toList();
+            List<CalendarEventException> exceptions = recurringIds.isEmpty()
+                    ? List.of()
+                    : calendarMapper.findExceptionDates(recurringIds, from, eventsTo);
+            OccurrenceIterator.of(events, exceptions, from, eventsTo)
+                    .forEachRemaining(occurrence -> candidates.add(eventReminder(occurrence)));
+
+            Duration longestLead = taskLead.compareTo(eventLead) > 0 ? taskLead : eventLead;
+            OffsetDateTime firedAfter = now.minus(catchUp).minus(longestLead).minusDays(1).atZone(zone).toOffsetDateTime();
+            Set<String> fired = new HashSet<>();
+            reminderMapper.findFiredKeys(firedAfter).forEach(row -> fired.add(firedKey(row)));
+
+            candidateCount = candidates.size();
+            firedCount = fired.size();
+            synchronized (this) {
+                // 읽는 동안 바뀐 작업/일정은 읽은 후보 대신 변경 알림이 올린 타이머를 그대로 둔다
+                List<ReminderResponse> kept = new ArrayList<>();
+                changedDuringReload.forEach(key -> scheduled.getOrDefault(key, List.of()).stream()
+                        .filter(timer -> !timer.cancelled)
+                        .forEach(timer -> kept.add(timer.value)));
+                wheel.clear();
+                scheduled.clear();
+                kept.forEach(reminder -> schedule(reminder, dueNow));
+                for (ReminderResponse reminder : candidates) {
+                    if (!fired.contains(firedKey(reminder)) && !changedDuringReload.contains(reminder.getSourceKey())
+                            && !projectsRemovedDuringReload.contains(reminder.getProjectId())) {
+                        schedule(reminder, dueNow);
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                changedDuringReload = null;
+                projectsRemovedDuringReload = null;
+            }
+        }
+        fire(dueNow);
+        reminderMapper.deleteFiredBefore(OffsetDateTime.now(zone).minus(retention));
+        log.debug("reminders reloaded: {} candidates, {} already fired", candidateCount, firedCount);
+    }
+
+    /** 작업 생성/수정/완료 토글 커밋 후 */
+    public void taskChanged(TaskResponse task) {
+        if (!enabled) {
+            return;
+        }
+        List<ReminderResponse> dueNow = new ArrayList<>();
+        synchronized (this) {
+            changed(ReminderResponse.taskKey(task.getProjectId(), task.getTaskId()));
+            if (task.getDeadline() != null && !Boolean.TRUE.equals(task.getCompleted())) {
+                schedule(taskReminder(task), dueNow);
+            }
+        }
+        fire(dueNow);
+    }
+
+    public synchronized void taskRemoved(Long projectId, Long taskId) {
+        changed(ReminderResponse.taskKey(projectId, taskId));
+    }
+
+    public synchronized void projectRemoved(Long projectId) {
+        if (projectsRemovedDuringReload != null) {
+            projectsRemovedDuringReload.add(projectId);
+        }
+        String prefix = ReminderResponse.TASK + ":" + projectId + ":";
+        new ArrayList<>(scheduled.keySet()).stream()
+                .filter(key -> key.startsWith(prefix))
+                .forEach(this::cancel);
+    }
+
+    /** 일정 생성/수정/삭제/발생분 제외 커밋 후. 규칙과 예외 날짜를 다시 읽어 발생분 타이머를 바꾼다 */
+    public void eventChanged(Long eventId) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(zone);
+        List<ReminderResponse> reminders = eventReminders(eventId,
+                now.minus(catchUp).toLocalDate(), now.plus(horizon).plus(eventLead).toLocalDate());
+        List<ReminderResponse> dueNow = new ArrayList<>();
+        synchronized (this) {
+            changed(ReminderResponse.eventKey(eventId));
+            reminders.forEach(reminder -> schedule(reminder, dueNow));
+        }
+        fire(dueNow);
+    }
+
+    private void tick() {
+        try {
+            List<ReminderResponse> due = new ArrayList<>();
+            synchronized (this) {
+                wheel.advance(System.currentTimeMillis(), due::add);
+                due.forEach(this::forget);
+            }
+            fire(due);
+        } catch (RuntimeException ex) {
+            // 예외가 밖으로 나가면 scheduleAtFixedRate 가 멈춘다
+            log.warn("reminder tick failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    // this 잠금 안에서 호출. 울릴 시각이 지났으면 dueNow 에 넣고, horizon 밖이면 다음 적재 때 올린다
+    private void schedule(ReminderResponse reminder, List<ReminderResponse> dueNow) {
+        long now = System.currentTimeMillis();
+        long fireAt = toMillis(reminder.getDueAt().minus(leadOf(reminder)));
+        if (fireAt - now >= horizon.toMillis()) {
+            return;
+        }
+        TimingWheel.Timer<ReminderResponse> timer = wheel.add(fireAt, reminder);
+        if (timer == null) {
+            if (toMillis(reminder.getDueAt()) >= now - catchUp.toMillis()) {
+                dueNow.add(reminder);
+            }
+            return;
+        }
+        scheduled.computeIfAbsent(reminder.getSourceKey(), key -> new ArrayList<>()).add(timer);
+    }
+
+    // this 잠금 안에서 호출. 변경 알림으로 타이머를 바꾸기 전에 취소하고, reload 중이면 그 적재가 덮어쓰지 않게 남긴다
+    private void changed(String sourceKey) {
+        cancel(sourceKey);
+        if (changedDuringReload != null) {
+            changedDuringReload.add(sourceKey);
+        }
+    }
+
+    private void cancel(String sourceKey) {
+        List<TimingWheel.Timer<ReminderResponse>> timers = scheduled.remove(sourceKey);
+        if (timers != null) {
+            timers.forEach(TimingWheel.Timer::cancel);
+        }
+    }
+
+    private void forget(ReminderResponse reminder) {
+        scheduled.computeIfPresent(reminder.getSourceKey(), (key, timers) -> {
+            timers.removeIf(timer -> timer.value == reminder);
+            return timers.isEmpty() ? null : timers;
+        });
+    }
+
+    // DB 기록이 성공한(처음 울리는) 알림만 발송으로 센다. 기록에 실패하면 잠시 뒤 다시 시도한다
+    private void fire(List<ReminderResponse> reminders) {
+        for (ReminderResponse reminder : reminders) {
+            try {
+                if (!stillDue(reminder)) {
+                    meterRegistry.counter("reminders.stale", "kind", reminder.getKind()).increment();
+                    log.debug("reminder {} due {} is stale, dropped", reminder.getSourceKey(), reminder.getDueAt());
+                } else if (reminderMapper.insertFired(reminder) > 0) {
+                    meterRegistry.counter("reminders.fired", "kind", reminder.getKind()).increment();
+                    log.info("reminder: {} '{}' due {}", reminder.getSourceKey(), reminder.getTitle(),
+                            reminder.getDueAt());
+                } else {
+                    meterRegistry.counter("reminders.duplicate", "kind", reminder.getKind()).increment();
+                }
+            } catch (RuntimeException ex) {
+                log.warn("could not record reminder {}: {}", reminder.getSourceKey(), ex.getMessage());
+                synchronized (this) {
+                    TimingWheel.Timer<ReminderResponse> timer =
+                            wheel.add(System.currentTimeMillis() + RETRY_MILLIS, reminder);
+                    scheduled.computeIfAbsent(reminder.getSourceKey(), key -> new ArrayList<>()).add(timer);
+                }
+            }
+        }
+    }
+
+    // 휠에 올린 뒤 다른 인스턴스에서 완료/삭제/마감 변경됐을 수 있으므로 원본 행으로 다시 확인한다
+    private boolean stillDue(ReminderResponse reminder) {
+        LocalDate dueDate = reminder.getDueAt().toLocalDate();
+        if (ReminderResponse.TASK.equals(reminder.getKind())) {
+            return reminderMapper.findOpenTaskDeadline(reminder.getProjectId(), reminder.getRefId())
+                    .filter(dueDate::equals)
+                    .isPresent();
+        }
+        return eventReminders(reminder.getRefId(), dueDate, dueDate).stream()
+                .anyMatch(occurrence -> occurrence.getDueAt().equals(reminder.getDueAt()));
+    }
+
+    // 일정 하나의 규칙과 예외 날짜를 읽어 from..to 발생분의 알림을 만든다 (일정이 없으면 빈 목록)
+    private List<ReminderResponse> eventReminders(Long eventId, LocalDate from, LocalDate to) {
+        List<ReminderResponse> reminders = new ArrayList<>();
+        calendarMapper.findById(eventId).ifPresent(event -> {
+            List<CalendarEventException> exceptions = event.getRecurFreq() == null
+                    ? List.of()
+                    : calendarMapper.findExceptionDates(List.of(eventId), from, to);
+            OccurrenceIterator.of(new ArrayList<>(List.of(event)), exceptions, from, to)
+                    .forEachRemaining(occurrence -> reminders.add(eventReminder(occurrence)));
+        });
+        return reminders;
+    }
+
+    private ReminderResponse taskReminder(TaskResponse task) {
+        ReminderResponse reminder = new ReminderResponse();
+        reminder.setSourceKey(ReminderResponse.taskKey(task.getProjectId(), task.getTaskId()));
+        reminder.setDueAt(task.getDeadline().atTime(taskDueTime));
+        reminder.setKind(ReminderResponse.TASK);
+        reminder.setProjectId(task.getProjectId());
+        reminder.setRefId(task.getTaskId());
+        reminder.setTitle(task.getTitle());
+        return reminder;
+    }
+
+    private ReminderResponse eventReminder(CalendarResponse occurrence) {
+        ReminderResponse reminder = new ReminderResponse();
+        reminder.setSourceKey(ReminderResponse.eventKey(occurrence.getId()));
+        reminder.setDueAt(occurrence.getDate().atTime(timeOf(occurrence)));
+        reminder.setKind(ReminderResponse.EVENT);
+        reminder.setRefId(occurrence.getId());
+        reminder.setTitle(occurrence.getTitle());
+        return reminder;
+    }
+
+    // event_time 이 없거나 읽을 수 없으면 종일 일정 알림 시각
+    private LocalTime timeOf(CalendarResponse event) {
+        if (event.getTime() == null || event.getTime().isBlank()) {
+            return allDayEventTime;
+        }
+        try {
+            return LocalTime.parse(event.getTime().trim());
+        } catch (DateTimeParseException ex) {
+            return allDayEventTime;
+        }
+    }
+
+    private Duration leadOf(ReminderResponse reminder) {
+        return ReminderResponse.TASK.equals(reminder.getKind()) ? taskLead : eventLead;
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static String firedKey(ReminderResponse reminder) {
+        return reminder.getSourceKey() + "@" + reminder.getDueAt();
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.project_01.reminder.service;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠. 바퀴마다 size 칸이고, 위 바퀴의 한 칸은 아래 바퀴 한 바퀴 길이다.
+ * 틱마다 맨 아래 바퀴의 칸 하나만 비우고, 아래 바퀴가 한 바퀴 돌 때마다 위 바퀴의 칸 하나를 아래로 내린다(cascade).
+ * 추가/취소는 O(1) 이고 틱당 비용은 그 칸에서 만기되는 항목 수(와 분할 상환된 cascade)에 비례한다.
+ * 스레드 안전하지 않으므로 쓰는 쪽이 잠근다.
+ */
+final class TimingWheel<T> {
+
+    static final class Timer<T> {
+        final long tick;
+        final T value;
+        boolean cancelled;
+
+        private Timer(long tick, T value) {
+            this.tick = tick;
+            this.value = value;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private final long tickMillis;
+    private final int size;
+    private final ArrayDeque<Timer<T>>[][] levels;
+    private final long spanTicks;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int size, long minSpanMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.size = size;
+        int levelCount = 1;
+        long span = size;
+        while (span * tickMillis < minSpanMillis) {
+            levelCount++;
+            span *= size;
+        }
+        this.spanTicks = span;
+        this.levels = new ArrayDeque[levelCount][size];
+        for (ArrayDeque<Timer<T>>[] level : levels) {
+            for (int i = 0; i < size; i++) {
+                level[i] = new ArrayDeque<>();
+            }
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /** 이미 지난(또는 이번 틱) 시각이면 넣지 않고 null 을 돌려준다. 호출한 쪽이 바로 처리한다 */
+    Timer<T> add(long atMillis, T value) {
+        long tick = atMillis / tickMillis;
+        if (tick <= currentTick) {
+            return null;
+        }
+        if (tick - currentTick >= spanTicks) {
+            throw new IllegalArgumentException("beyond wheel span: " + atMillis);
+        }
+        Timer<T> timer = new Timer<>(tick, value);
+        place(timer);
+        return timer;
+    }
+
+    /** nowMillis 까지 한 틱씩 진행하며 만기된 항목을 넘긴다 (밀린 틱도 따라잡는다) */
+    void advance(long nowMillis, Consumer<T> expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            // 아래 바퀴가 한 바퀴 돌았으면 위 바퀴의 현재 칸을 내린다
+            long position = currentTick;
+            for (int level = 1; level < levels.length && position % size == 0; level++) {
+                position /= size;
+                cascade(levels[level][(int) (position % size)], expired);
+            }
+            ArrayDeque<Timer<T>> bucket = levels[0][(int) (currentTick % size)];
+            Timer<T> timer;
+            while ((timer = bucket.poll()) != null) {
+                if (!timer.cancelled) {
+                    expired.accept(timer.value);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        for (ArrayDeque<Timer<T>>[] level : levels) {
+            for (ArrayDeque<Timer<T>> bucket : level) {
+                bucket.clear();
+            }
+        }
+    }
+
+    long spanMillis() {
+        return spanTicks * tickMillis;
+    }
+
+    private void cascade(ArrayDeque<Timer<T>> bucket, Consumer<T> expired) {
+        int count = bucket.size();
+        for (int i = 0; i < count; i++) {
+            Timer<T> timer = bucket.poll();
+            if (timer.cancelled) {
+                continue;
+            }
+            if (timer.tick <= currentTick) {
+                expired.accept(timer.value);
+            } else {
+                place(timer);
+            }
+        }
+    }
+
+    // 남은 틱 수로 바퀴를 고르고, 그 바퀴의 칸 크기로 나눈 만기 틱으로 칸을 고른다
+    private void place(Timer<T> timer) {
+        long delta = timer.tick - currentTick;
+        int level = 0;
+        long unit = 1;
+        while (delta >= unit * size) {
+            level++;
+            unit *= size;
+        }
+        levels[level][(int) ((timer.tick / unit) % size)].add(timer);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.project_01.search.controller;
+
+import com.example.project_01.search.dto.SearchResultResponse;
+import com.example.project_01.search.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    // 통합 검색 (type: task, project, document 중 하나로 제한 가능)
+    @GetMapping
+    public List<SearchResultResponse> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "20") int limit) {
+        return searchService.search(q, type, limit);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.project_01.search.dto;
+
+import com.example.project_01.document.dto.DocumentResponse;
+import com.example.project_01.project.dto.ProjectResponse;
+import com.example.project_01.task.dto.TaskResponse;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 검색 색인 단위. type 은 task, project, document 중 하나이며
+ * project 의 경우 projectId 와 id 가 같다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class SearchDocument {
+    public static final String TASK = "task";
+    public static final String PROJECT = "project";
+    public static final String DOCUMENT = "document";
+
+    private String type;
+    private Long projectId;
+    private Long id;
+    private String title;
+    private String body;
+
+    public SearchDocument(String type, Long projectId, Long id, String title, String body) {
+        this.type = type;
+        this.projectId = projectId;
+        this.id = id;
+        this.title = title;
+        this.body = body;
+    }
+
+    public static SearchDocument of(TaskResponse task) {
+        return new SearchDocument(TASK, task.getProjectId(), task.getTaskId(), task.getTitle(), task.getDescription());
+    }
+
+    public static SearchDocument of(ProjectResponse project) {
+        return new SearchDocument(PROJECT, project.getId(), project.getId(), project.getName(), project.getDescription());
+    }
+
+    public static SearchDocument of(DocumentResponse document) {
+        return new SearchDocument(DOCUMENT, document.getProjectId(), document.getId(), document.getTitle(),
+                document.getOriginalName());
+    }
+
+    public static String key(String type, Long projectId, Long id) {
+        return type + ":" + projectId + ":" + id;
+    }
+
+    public String key() {
+        return key(type, projectId, id);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.project_01.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultResponse {
+    private String type; // task, project, document
+    private Long projectId;
+    private Long id; // taskId, projectId, documentId
+    private String title;
+    private double score;
+}
@@ -0,0 +1,15 @@
+package com.example.project_01.search.mapper;
+
+import com.example.project_01.search.dto.SearchDocument;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.session.ResultHandler;
+
+@Mapper
+public interface SearchMapper {
+    // 재색인용 스트리밍 조회 (fetchSize 커서, 트랜잭션 안에서 호출해야 한다)
+    void streamTasks(ResultHandler<SearchDocument> handler);
+
+    void streamProjects(ResultHandler<SearchDocument> handler);
+
+    void streamDocuments(ResultHandler<SearchDocument> handler);
+}
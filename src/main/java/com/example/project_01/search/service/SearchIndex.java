@@ -0,0 +1,253 @@
+package com.example.project_01.search.service;
+
+import com.example.project_01.search.dto.SearchDocument;
+import com.example.project_01.search.dto.SearchResultResponse;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 작업/프로젝트/문서 제목과 설명에 대한 메모리 역색인.
+ * 한글은 형태소 분석 없이도 부분 일치가 되도록 문자 bigram 으로 토큰화한다.
+ */
+@Component
+public class SearchIndex {
+
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final float BODY_WEIGHT = 1.0f;
+
+    private volatile Postings current = new Postings();
+
+    // 재색인 중 들어온 증분 변경. 새 색인으로 교체한 뒤 다시 적용한다.
+    private volatile Queue<Consumer<Postings>> pendingDuringRebuild;
+
+    public void index(SearchDocument document) {
+        apply(p -> p.put(document));
+    }
+
+    public void remove(String type, Long projectId, Long id) {
+        String key = SearchDocument.key(type, projectId, id);
+        apply(p -> p.remove(key));
+    }
+
+    public void removeProject(Long projectId) {
+        apply(p -> p.removeProject(projectId));
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * 새 색인을 만들고 통째로 교체한다. loader 는 전달받은 consumer 에 문서를 흘려보낸다.
+     */
+    public void rebuild(Consumer<Consumer<SearchDocument>> loader) {
+        Queue<Consumer<Postings>> pending = new ConcurrentLinkedQueue<>();
+        pendingDuringRebuild = pending;
+        try {
+            Postings next = new Postings();
+            loader.accept(next::put);
+            synchronized (this) {
+                Consumer<Postings> op;
+                while ((op = pending.poll()) != null) {
+                    op.accept(next);
+                }
+                current = next;
+                pendingDuringRebuild = null;
+            }
+        } finally {
+            pendingDuringRebuild = null;
+        }
+    }
+
+    public List<SearchResultResponse> search(String query, String type, int limit) {
+        List<String> grams = tokenize(query);
+        if (grams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return current.search(query, new LinkedHashSet<>(grams), type, limit);
+    }
+
+    private void apply(Consumer<Postings> op) {
+        Postings target;
+        synchronized (this) {
+            Queue<Consumer<Postings>> pending = pendingDuringRebuild;
+            if (pending != null) {
+                pending.add(op);
+            }
+            target = current;
+        }
+        op.accept(target);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /** 공백/기호로 단어를 나눈 뒤 단어별 문자 bigram 을 만든다. 한 글자 단어는 그대로 쓴다. */
+    static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> grams = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addGrams(normalized, start, i, grams);
+                start = -1;
+            }
+        }
+        return grams;
+    }
+
+    private static void addGrams(String text, int from, int to, List<String> out) {
+        if (to - from == 1) {
+            out.add(text.substring(from, to));
+            return;
+        }
+        for (int i = from; i + 2 <= to; i++) {
+            out.add(text.substring(i, i + 2));
+        }
+    }
+
+    private static final class Postings {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Map<String, Float>> postings = new HashMap<>();
+        private final Map<String, SearchDocument> documents = new HashMap<>();
+        private final Map<String, Set<String>> gramsByDocument = new HashMap<>();
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return documents.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(SearchDocument document) {
+            String key = document.key();
+            Map<String, Float> weights = new HashMap<>();
+            for (String gram : tokenize(document.getTitle())) {
+                weights.merge(gram, TITLE_WEIGHT, Float::sum);
+            }
+            for (String gram : tokenize(document.getBody())) {
+                weights.merge(gram, BODY_WEIGHT, Float::sum);
+            }
+
+            lock.writeLock().lock();
+            try {
+                removeLocked(key);
+                documents.put(key, document);
+                gramsByDocument.put(key, weights.keySet());
+                weights.forEach((gram, weight) ->
+                        postings.computeIfAbsent(gram, g -> new HashMap<>()).put(key, weight));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String key) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeProject(Long projectId) {
+            lock.writeLock().lock();
+            try {
+                List<String> keys = documents.values().stream()
+                        .filter(d -> Objects.equals(d.getProjectId(), projectId))
+                        .map(SearchDocument::key)
+                        .toList();
+                keys.forEach(this::removeLocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(String key) {
+            if (documents.remove(key) == null) {
+                return;
+            }
+            for (String gram : gramsByDocument.remove(key)) {
+                Map<String, Float> docs = postings.get(gram);
+                if (docs != null) {
+                    docs.remove(key);
+                    if (docs.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        List<SearchResultResponse> search(String query, Set<String> grams, String type, int limit) {
+            String phrase = normalize(query).trim();
+            // 질의 bigram 의 절반 이상이 맞아야 결과로 인정한다 (bigram 하나만 겹치는 잡음 제거)
+            int minMatches = Math.max(1, (grams.size() + 1) / 2);
+
+            lock.readLock().lock();
+            try {
+                int total = Math.max(1, documents.size());
+                Map<String, double[]> scores = new HashMap<>(); // [score, matched]
+                for (String gram : grams) {
+                    Map<String, Float> docs = postings.get(gram);
+                    if (docs == null) {
+                        continue;
+                    }
+                    double idf = Math.log(1.0 + (double) total / docs.size());
+                    docs.forEach((key, weight) -> {
+                        double[] s = scores.computeIfAbsent(key, k -> new double[2]);
+                        s[0] += idf * (1.0 + Math.log(weight));
+                        s[1]++;
+                    });
+                }
+
+                PriorityQueue<SearchResultResponse> top =
+                        new PriorityQueue<>(Comparator.comparingDouble(SearchResultResponse::getScore));
+                scores.forEach((key, s) -> {
+                    if (s[1] < minMatches) {
+                        return;
+                    }
+                    SearchDocument doc = documents.get(key);
+                    if (type != null && !type.equals(doc.getType())) {
+                        return;
+                    }
+                    double score = s[0];
+                    if (!phrase.isEmpty() && normalize(doc.getTitle()).contains(phrase)) {
+                        score *= 2; // 제목에 질의가 그대로 포함되면 가산
+                    }
+                    if (top.size() < limit) {
+                        top.add(toResult(doc, score));
+                    } else if (top.peek().getScore() < score) {
+                        top.poll();
+                        top.add(toResult(doc, score));
+                    }
+                });
+
+                List<SearchResultResponse> results = new ArrayList<>(top);
+                results.sort(Comparator.comparingDouble(SearchResultResponse::getScore).reversed());
+                return results;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static SearchResultResponse toResult(SearchDocument doc, double score) {
+            return new SearchResultResponse(doc.getType(), doc.getProjectId(), doc.getId(), doc.getTitle(),
+                    Math.round(score * 1000.0) / 1000.0);
+        }
+    }
+}
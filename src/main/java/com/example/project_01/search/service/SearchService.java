@@ -0,0 +1,69 @@
+package com.example.project_01.search.service;
+
+import com.example.project_01.search.dto.SearchDocument;
+import com.example.project_01.search.dto.SearchResultResponse;
+import com.example.project_01.search.mapper.SearchMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchIndex searchIndex;
+    private final SearchMapper searchMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    public List<SearchResultResponse> search(String query, String type, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return searchIndex.search(query, type, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /** 작업/프로젝트/문서를 각각의 스레드에서 병렬로 읽어 색인을 다시 만든다. */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Consumer<ResultHandler<SearchDocument>>> sources = List.of(
+                searchMapper::streamTasks,
+                searchMapper::streamProjects,
+                searchMapper::streamDocuments);
+
+        ExecutorService executor = Executors.newFixedThreadPool(sources.size());
+        try {
+            searchIndex.rebuild(sink -> CompletableFuture.allOf(sources.stream()
+                    .map(source -> CompletableFuture.runAsync(() -> readOnly.executeWithoutResult(
+                            status -> source.accept(ctx -> sink.accept(ctx.getResultObject()))), executor))
+                    .toArray(CompletableFuture[]::new)).join());
+            log.info("Search index rebuilt: {} documents in {} ms",
+                    searchIndex.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException ex) {
+            log.error("Search index rebuild failed", ex);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
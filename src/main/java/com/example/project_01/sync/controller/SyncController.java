@@ -0,0 +1,33 @@
+package com.example.project_01.sync.controller;
+
+import com.example.project_01.sync.dto.SyncResponse;
+import com.example.project_01.sync.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    // 증분 동기화: since 토큰 이후 변경분만 (처음에는 since 없이 호출)
+    @GetMapping
+    public SyncResponse sync(
+            @RequestParam(defaultValue = "0") String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        long token;
+        try {
+            token = Long.parseLong(since);
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid sync token: " + since);
+        }
+        return syncService.changesSince(token, limit);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.project_01.sync.dto;
+
+import com.example.project_01.project.dto.ProjectResponse;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SyncProjectChange extends ProjectResponse {
+    private Long changeSeq;
+}
@@ -0,0 +1,19 @@
+package com.example.project_01.sync.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SyncResponse {
+    private String token; // 다음 요청의 since 값
+    private boolean reset; // true 면 클라이언트 캐시를 비우고 since 없이 다시 받아야 한다
+    private boolean hasMore; // true 면 token 으로 바로 이어서 요청
+    private List<SyncTaskChange> tasks;
+    private List<SyncProjectChange> projects;
+    private List<SyncTombstone> deleted;
+}
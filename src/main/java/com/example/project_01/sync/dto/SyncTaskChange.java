@@ -0,0 +1,13 @@
+package com.example.project_01.sync.dto;
+
+import com.example.project_01.task.dto.TaskResponse;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SyncTaskChange extends TaskResponse {
+    private Long changeSeq;
+}
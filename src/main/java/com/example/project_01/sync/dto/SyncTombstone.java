@@ -0,0 +1,18 @@
+package com.example.project_01.sync.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SyncTombstone {
+    private Long changeSeq;
+    private String entityType; // task, project
+    private Long projectId;
+    private Long entityId; // taskId 또는 projectId
+    private OffsetDateTime deletedAt;
+}
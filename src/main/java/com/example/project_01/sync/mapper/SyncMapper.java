@@ -0,0 +1,30 @@
+package com.example.project_01.sync.mapper;
+
+import com.example.project_01.sync.dto.SyncProjectChange;
+import com.example.project_01.sync.dto.SyncTaskChange;
+import com.example.project_01.sync.dto.SyncTombstone;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface SyncMapper {
+    // 진행 중인 tasks/projects 쓰기 트랜잭션이 끝날 때까지 기다린다 (트랜잭션 종료 시 해제)
+    void awaitWriteBarrier();
+
+    long currentChangeSeq();
+
+    long purgedThrough();
+
+    List<SyncTaskChange> findChangedTasks(@Param("since") long since, @Param("upTo") long upTo,
+            @Param("limit") int limit);
+
+    List<SyncProjectChange> findChangedProjects(@Param("since") long since, @Param("upTo") long upTo,
+            @Param("limit") int limit);
+
+    List<SyncTombstone> findTombstones(@Param("since") long since, @Param("upTo") long upTo,
+            @Param("limit") int limit);
+
+    void purgeTombstones(@Param("retentionDays") int retentionDays);
+}
@@ -0,0 +1,92 @@
+package com.example.project_01.sync.service;
+
+import com.example.project_01.sync.dto.SyncProjectChange;
+import com.example.project_01.sync.dto.SyncResponse;
+import com.example.project_01.sync.dto.SyncTaskChange;
+import com.example.project_01.sync.dto.SyncTombstone;
+import com.example.project_01.sync.mapper.SyncMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+@Service
+@Transactional
+@Slf4j
+public class SyncService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final SyncMapper syncMapper;
+    private final TransactionTemplate barrierTransaction;
+    private final int tombstoneRetentionDays;
+
+    public SyncService(SyncMapper syncMapper, PlatformTransactionManager transactionManager,
+            @Value("${sync.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.syncMapper = syncMapper;
+        this.barrierTransaction = new TransactionTemplate(transactionManager);
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+
+    /**
+     * since 이후 생성/수정/삭제된 작업과 프로젝트를 change_seq 순으로 돌려준다.
+     * 세 목록 중 하나라도 limit 에 걸리면 가장 작은 마지막 번호에서 자르고 hasMore 를 켠다.
+     * 쓰기 장벽(배타 lock)은 upTo 를 읽는 짧은 트랜잭션에서만 잡는다. 조회까지 잡고 있으면
+     * 그동안 모든 tasks/projects 쓰기가 트리거의 공유 lock 에서 멈춘다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SyncResponse changesSince(long since, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        SyncResponse response = new SyncResponse();
+
+        long upTo = barrierTransaction.execute(status -> {
+            syncMapper.awaitWriteBarrier();
+            return syncMapper.currentChangeSeq();
+        });
+
+        if (since > upTo || (since > 0 && since < syncMapper.purgedThrough())) {
+            // 토큰이 보관 기간을 넘겼거나 DB 가 바뀌었다: 처음부터 다시 받아야 한다
+            response.setReset(true);
+            response.setToken("0");
+            response.setTasks(List.of());
+            response.setProjects(List.of());
+            response.setDeleted(List.of());
+            return response;
+        }
+
+        List<SyncTaskChange> tasks = syncMapper.findChangedTasks(since, upTo, pageSize);
+        List<SyncProjectChange> projects = syncMapper.findChangedProjects(since, upTo, pageSize);
+        List<SyncTombstone> deleted = syncMapper.findTombstones(since, upTo, pageSize);
+
+        long cut = upTo;
+        cut = Math.min(cut, lastSeqIfFull(tasks, pageSize, SyncTaskChange::getChangeSeq));
+        cut = Math.min(cut, lastSeqIfFull(projects, pageSize, SyncProjectChange::getChangeSeq));
+        cut = Math.min(cut, lastSeqIfFull(deleted, pageSize, SyncTombstone::getChangeSeq));
+        long token = cut;
+
+        response.setHasMore(cut < upTo);
+        response.setToken(String.valueOf(token));
+        response.setTasks(tasks.stream().filter(t -> t.getChangeSeq() <= token).toList());
+        response.setProjects(projects.stream().filter(p -> p.getChangeSeq() <= token).toList());
+        response.setDeleted(deleted.stream().filter(d -> d.getChangeSeq() <= token).toList());
+        return response;
+    }
+
+    private static <T> long lastSeqIfFull(List<T> rows, int pageSize, ToLongFunction<T> seq) {
+        return rows.size() < pageSize ? Long.MAX_VALUE : seq.applyAsLong(rows.get(rows.size() - 1));
+    }
+
+    // 보관 기간이 지난 tombstone 정리 (매일 03:30)
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeTombstones() {
+        syncMapper.purgeTombstones(tombstoneRetentionDays);
+        log.info("Purged sync tombstones older than {} days", tombstoneRetentionDays);
+    }
+}
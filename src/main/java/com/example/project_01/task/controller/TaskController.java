@@ -1,9 +1,12 @@
 package com.example.project_01.task.controller;
 
+import com.example.project_01.config.FieldSelection;
+import com.example.project_01.task.dto.TaskQuery;
 import com.example.project_01.task.dto.TaskRequest;
 import com.example.project_01.task.dto.TaskResponse;
 import com.example.project_01.task.service.TaskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -17,8 +20,17 @@ public class TaskController {
 
     // 전체 작업 조회 (프론드엔드 fetchAllTasks 대응)
     @GetMapping("/tasks")
-    public List<TaskResponse> getAllTasks() {
-        return taskService.getAllTasks();
+    public MappingJacksonValue getAllTasks(@RequestParam(required = false) String fields) {
+        FieldSelection.Selection selection = TaskResponse.FIELDS.select(fields);
+        return selection.wrap(taskService.getAllTasks(selection.columns()));
+    }
+
+    // 서버 측 필터/정렬 + 필터 칩 개수
+    // 예: /api/tasks/query?project=1,2&priority=high&completed=false&deadlineTo=2026-12-31&sort=deadline&page=0&size=50
+    @GetMapping("/tasks/query")
+    public MappingJacksonValue queryTasks(TaskQuery query, @RequestParam(required = false) String fields) {
+        FieldSelection.Selection selection = TaskResponse.FIELDS.select(fields);
+        return selection.wrap(taskService.queryTasks(query, selection.columns()));
     }
 
     // 최근 완료된 작업 조회 (알림용 - DB 시간 기준 3일 이내)
@@ -29,8 +41,10 @@ public class TaskController {
 
     // 특정 프로젝트의 작업 목록 조회
     @GetMapping("/projects/{projectId}/tasks")
-    public List<TaskResponse> getTasksByProject(@PathVariable Long projectId) {
-        return taskService.getTasksByProjectId(projectId);
+    public MappingJacksonValue getTasksByProject(@PathVariable Long projectId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection.Selection selection = TaskResponse.FIELDS.select(fields);
+        return selection.wrap(taskService.getTasksByProjectId(projectId, selection.columns()));
     }
 
     // 작업 생성
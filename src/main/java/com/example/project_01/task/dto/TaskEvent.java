@@ -0,0 +1,37 @@
+package com.example.project_01.task.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// task_events 한 행. completed 는 이벤트 직후 상태, openDelta 는 미완료 작업 수 변화(-1, 0, 1)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskEvent {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String COMPLETED = "completed";
+    public static final String REOPENED = "reopened";
+    public static final String DELETED = "deleted";
+
+    private Long projectId;
+    private Long taskId;
+    private String eventType;
+    private boolean completed;
+    private int openDelta;
+    private String priority;
+    private String title;
+
+    public static TaskEvent of(String eventType, TaskResponse task, int openDelta) {
+        TaskEvent event = new TaskEvent();
+        event.setProjectId(task.getProjectId());
+        event.setTaskId(task.getTaskId());
+        event.setEventType(eventType);
+        event.setCompleted(Boolean.TRUE.equals(task.getCompleted()));
+        event.setOpenDelta(openDelta);
+        event.setPriority(task.getPriority());
+        event.setTitle(task.getTitle());
+        return event;
+    }
+}
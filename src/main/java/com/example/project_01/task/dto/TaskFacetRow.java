@@ -0,0 +1,14 @@
+package com.example.project_01.task.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskFacetRow {
+    private String facet; // priority, completed, project, total
+    private String value; // total 이면 null
+    private long count;
+}
@@ -0,0 +1,24 @@
+package com.example.project_01.task.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** GET /api/tasks/query 파라미터. 목록 값(project, priority)은 안에서 OR, 항목끼리는 AND */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskQuery {
+    private List<Long> project;
+    private List<String> priority;
+    private Boolean completed;
+    private LocalDate deadlineFrom; // 포함
+    private LocalDate deadlineTo; // 포함
+    private String sort = "deadline"; // deadline, createdAt, updatedAt, title, priority
+    private String direction = "asc";
+    private int page = 0;
+    private int size = 50;
+}
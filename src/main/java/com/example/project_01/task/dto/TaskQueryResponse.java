@@ -0,0 +1,20 @@
+package com.example.project_01.task.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskQueryResponse {
+    private List<TaskResponse> items;
+    private long total; // 필터에 맞는 전체 작업 수
+    private int page;
+    private int size;
+    // facet -> 값 -> 개수. 각 facet 은 자기 필터만 빼고 나머지 필터를 적용한 개수 (칩 선택을 바꿨을 때의 결과 수)
+    private Map<String, Map<String, Long>> facets;
+}
@@ -1,5 +1,7 @@
 package com.example.project_01.task.dto;
 
+import com.example.project_01.config.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -10,7 +12,19 @@ import java.time.OffsetDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class TaskResponse {
+    public static final FieldSelection FIELDS = new FieldSelection()
+            .key("projectId", "project_id")
+            .key("taskId", "task_id")
+            .field("title", "title")
+            .field("description", "description")
+            .field("completed", "completed")
+            .field("priority", "priority")
+            .field("deadline", "deadline")
+            .field("createdAt", "created_at")
+            .field("updatedAt", "updated_at");
+
     private Long projectId;
     private Long taskId;
     private String title;
@@ -0,0 +1,19 @@
+package com.example.project_01.task.mapper;
+
+import com.example.project_01.task.dto.TaskEvent;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Mapper
+public interface TaskEventMapper {
+    void insertEvent(TaskEvent event);
+
+    // 프로젝트 정리 배치에서 지울 작업들의 삭제 이벤트 (DELETE 전에 호출). occurredAt 은 삭제 요청 시각
+    void insertDeletedForTasks(@Param("projectId") Long projectId, @Param("taskIds") List<Long> taskIds,
+                               @Param("occurredAt") OffsetDateTime occurredAt);
+
+    void maintainPartitions(@Param("aheadMonths") int aheadMonths, @Param("retentionMonths") int retentionMonths);
+}
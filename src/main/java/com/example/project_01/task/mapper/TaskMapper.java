@@ -1,5 +1,7 @@
 package com.example.project_01.task.mapper;
 
+import com.example.project_01.task.dto.TaskFacetRow;
+import com.example.project_01.task.dto.TaskQuery;
 import com.example.project_01.task.dto.TaskRequest;
 import com.example.project_01.task.dto.TaskResponse;
 import org.apache.ibatis.annotations.Mapper;
@@ -18,11 +20,17 @@ public interface TaskMapper {
     void updateTaskSeq(@Param("projectId") Long projectId, @Param("nextTaskId") Long nextTaskId);
 
     // Task CRUD
-    List<TaskResponse> findAll();
+    List<TaskResponse> findAll(@Param("columns") List<String> columns);
 
     List<TaskResponse> findRecentCompletedTasks();
 
-    List<TaskResponse> findByProjectId(Long projectId);
+    List<TaskResponse> findByProjectId(@Param("projectId") Long projectId, @Param("columns") List<String> columns);
+
+    // 서버 측 필터/정렬 (orderBy 는 서비스의 화이트리스트에서 고른 식)
+    List<TaskResponse> queryTasks(@Param("query") TaskQuery query, @Param("orderBy") String orderBy,
+            @Param("offset") int offset, @Param("columns") List<String> columns);
+
+    List<TaskFacetRow> queryTaskFacets(@Param("query") TaskQuery query);
 
     Optional<TaskResponse> findByPk(@Param("projectId") Long projectId, @Param("taskId") Long taskId);
 
@@ -0,0 +1,43 @@
+package com.example.project_01.task.service;
+
+import com.example.project_01.task.mapper.TaskEventMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * task_events 월 파티션 관리: 앞으로 쓸 달은 미리 만들고, 보관 기간이 지난 달은 통째로 지운다.
+ */
+@Slf4j
+@Component
+public class TaskEventPartitions {
+
+    private final TaskEventMapper taskEventMapper;
+    private final int aheadMonths;
+    private final int retentionMonths;
+
+    public TaskEventPartitions(TaskEventMapper taskEventMapper,
+            @Value("${task-events.ahead-months:3}") int aheadMonths,
+            @Value("${task-events.retention-months:36}") int retentionMonths) {
+        this.taskEventMapper = taskEventMapper;
+        this.aheadMonths = aheadMonths;
+        this.retentionMonths = retentionMonths;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${task-events.maintenance-cron:0 10 0 * * *}")
+    public void maintain() {
+        try {
+            taskEventMapper.maintainPartitions(aheadMonths, retentionMonths);
+        } catch (RuntimeException ex) {
+            log.warn("task_events partition maintenance failed: {}", ex.getMessage());
+        }
+    }
+}
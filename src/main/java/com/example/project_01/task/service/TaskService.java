@@ -1,13 +1,30 @@
 package com.example.project_01.task.service;
 
+import com.example.project_01.analytics.service.LeadTimeSketches;
+import com.example.project_01.config.CacheInvalidationBus;
+import com.example.project_01.config.TransactionHooks;
+import com.example.project_01.project.mapper.ProjectMapper;
+import com.example.project_01.reminder.service.DeadlineReminders;
+import com.example.project_01.search.dto.SearchDocument;
+import com.example.project_01.search.service.SearchIndex;
+import com.example.project_01.task.dto.TaskEvent;
+import com.example.project_01.task.dto.TaskFacetRow;
+import com.example.project_01.task.dto.TaskQuery;
+import com.example.project_01.task.dto.TaskQueryResponse;
 import com.example.project_01.task.dto.TaskRequest;
 import com.example.project_01.task.dto.TaskResponse;
+import com.example.project_01.task.mapper.TaskEventMapper;
 import com.example.project_01.task.mapper.TaskMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -15,17 +32,79 @@ import java.util.List;
 public class TaskService {
 
     private final TaskMapper taskMapper;
+    private final TaskEventMapper taskEventMapper;
+    private final CacheInvalidationBus cacheInvalidation;
+    private final SearchIndex searchIndex;
+    private final LeadTimeSketches leadTimeSketches;
+    private final DeadlineReminders deadlineReminders;
+    private final ProjectMapper projectMapper;
 
-    public List<TaskResponse> getAllTasks() {
-        return taskMapper.findAll();
+    private static final int MAX_PAGE_SIZE = 200;
+
+    // sort 파라미터 -> ORDER BY 식 (매퍼에 ${} 로 들어가므로 여기 있는 값만 허용)
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "deadline", "deadline",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "title", "title",
+            "priority", "CASE priority WHEN 'high' THEN 0 WHEN 'medium' THEN 1 WHEN 'low' THEN 2 ELSE 3 END");
+
+    public List<TaskResponse> getAllTasks(List<String> columns) {
+        return taskMapper.findAll(columns);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskQueryResponse queryTasks(TaskQuery query, List<String> columns) {
+        String column = SORT_COLUMNS.get(query.getSort());
+        if (column == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown sort: " + query.getSort());
+        }
+        String direction = switch (query.getDirection() == null ? "asc" : query.getDirection().toLowerCase()) {
+            case "asc" -> "ASC";
+            case "desc" -> "DESC";
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "direction must be asc or desc");
+        };
+        if (query.getPage() < 0 || query.getSize() < 1 || query.getSize() > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (query.getDeadlineFrom() != null && query.getDeadlineTo() != null
+                && query.getDeadlineFrom().isAfter(query.getDeadlineTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "deadlineFrom must not be after deadlineTo");
+        }
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("priority", new LinkedHashMap<>());
+        facets.put("completed", new LinkedHashMap<>());
+        facets.put("project", new LinkedHashMap<>());
+        long total = 0;
+        for (TaskFacetRow row : taskMapper.queryTaskFacets(query)) {
+            if ("total".equals(row.getFacet())) {
+                total = row.getCount();
+            } else if (row.getCount() > 0) {
+                facets.get(row.getFacet()).put(row.getValue() == null ? "none" : row.getValue(), row.getCount());
+            }
+        }
+
+        TaskQueryResponse response = new TaskQueryResponse();
+        response.setTotal(total);
+        response.setPage(query.getPage());
+        response.setSize(query.getSize());
+        response.setFacets(facets);
+        // 건너뛸 행이 전체보다 많으면 조회하지 않는다
+        long offset = (long) query.getPage() * query.getSize();
+        response.setItems(offset >= total ? List.of()
+                : taskMapper.queryTasks(query, column + " " + direction, (int) offset, columns));
+        return response;
     }
 
     public List<TaskResponse> getRecentCompletedTasks() {
         return taskMapper.findRecentCompletedTasks();
     }
 
-    public List<TaskResponse> getTasksByProjectId(Long projectId) {
-        return taskMapper.findByProjectId(projectId);
+    public List<TaskResponse> getTasksByProjectId(Long projectId, List<String> columns) {
+        return taskMapper.findByProjectId(projectId, columns);
     }
 
     public TaskResponse getTask(Long projectId, Long taskId) {
@@ -34,6 +113,7 @@ public class TaskService {
     }
 
     public TaskResponse createTask(Long projectId, TaskRequest request) {
+        requireActiveProject(projectId);
         // ID Generation Logic using project_task_seq
         Long nextTaskId = taskMapper.getNextTaskIdForUpdate(projectId);
         Long currentTaskId;
@@ -56,24 +136,95 @@ public class TaskService {
         task.setCompleted(request.completed() != null ? request.completed() : false);
 
         taskMapper.insertTask(task);
-        taskMapper.updateProjectProgress(projectId);
-        return taskMapper.findByPk(projectId, currentTaskId).orElse(task);
+        updateProgress(projectId, true);
+        TaskResponse created = taskMapper.findByPk(projectId, currentTaskId).orElse(task);
+        taskEventMapper.insertEvent(TaskEvent.of(TaskEvent.CREATED, created, openness(created)));
+        if (Boolean.TRUE.equals(created.getCompleted())) {
+            taskEventMapper.insertEvent(TaskEvent.of(TaskEvent.COMPLETED, created, 0));
+        }
+        TransactionHooks.afterCommit(() -> {
+            searchIndex.index(SearchDocument.of(created));
+            deadlineReminders.taskChanged(created);
+        });
+        recordCompletion(false, created);
+        return created;
     }
 
     public TaskResponse updateTask(Long projectId, Long taskId, TaskRequest request) {
+        requireActiveProject(projectId);
+        TaskResponse before = getTask(projectId, taskId);
         taskMapper.updateTask(projectId, taskId, request);
-        taskMapper.updateProjectProgress(projectId);
-        return getTask(projectId, taskId);
+        TaskResponse updated = getTask(projectId, taskId);
+        updateProgress(projectId, !Objects.equals(before.getCompleted(), updated.getCompleted()));
+        logChange(before, updated);
+        TransactionHooks.afterCommit(() -> {
+            searchIndex.index(SearchDocument.of(updated));
+            deadlineReminders.taskChanged(updated);
+        });
+        recordCompletion(Boolean.TRUE.equals(before.getCompleted()), updated);
+        return updated;
     }
 
     public void deleteTask(Long projectId, Long taskId) {
+        taskMapper.findByPk(projectId, taskId).ifPresent(task ->
+                taskEventMapper.insertEvent(TaskEvent.of(TaskEvent.DELETED, task, -openness(task))));
         taskMapper.deleteTask(projectId, taskId);
-        taskMapper.updateProjectProgress(projectId);
+        updateProgress(projectId, true);
+        TransactionHooks.afterCommit(() -> {
+            searchIndex.remove(SearchDocument.TASK, projectId, taskId);
+            deadlineReminders.taskRemoved(projectId, taskId);
+        });
     }
 
     public TaskResponse toggleTask(Long projectId, Long taskId) {
+        requireActiveProject(projectId);
         taskMapper.toggleTaskStatus(projectId, taskId);
+        updateProgress(projectId, true);
+        TaskResponse toggled = getTask(projectId, taskId);
+        boolean completed = Boolean.TRUE.equals(toggled.getCompleted());
+        taskEventMapper.insertEvent(TaskEvent.of(completed ? TaskEvent.COMPLETED : TaskEvent.REOPENED,
+                toggled, completed ? -1 : 1));
+        TransactionHooks.afterCommit(() -> deadlineReminders.taskChanged(toggled));
+        recordCompletion(false, toggled);
+        return toggled;
+    }
+
+    // 삭제 요청된 프로젝트에 쓰면 정리가 끝난 뒤에도 행과 색인이 남는다
+    private void requireActiveProject(Long projectId) {
+        if (projectMapper.lockActiveProject(projectId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "project not found: " + projectId);
+        }
+    }
+
+    // 완료 상태가 바뀌었으면 completed/reopened, 아니면 updated
+    private void logChange(TaskResponse before, TaskResponse after) {
+        boolean wasCompleted = Boolean.TRUE.equals(before.getCompleted());
+        boolean completed = Boolean.TRUE.equals(after.getCompleted());
+        String type = wasCompleted == completed ? TaskEvent.UPDATED
+                : completed ? TaskEvent.COMPLETED : TaskEvent.REOPENED;
+        taskEventMapper.insertEvent(TaskEvent.of(type, after, openness(after) - openness(before)));
+    }
+
+    private static int openness(TaskResponse task) {
+        return Boolean.TRUE.equals(task.getCompleted()) ? 0 : 1;
+    }
+
+    // 미완료 -> 완료로 바뀐 경우만 리드타임 스케치에 넣는다 (완료 시각 = updated_at)
+    /**
+     * 진행률은 projectsList 캐시에도 들어 있지만, 작업 쓰기마다 모든 인스턴스의 캐시를 비우지 않도록
+     * 완료/전체 작업 수가 바뀔 수 있을 때만 비운다 (제목 수정 등으로 바뀐 updated_at 은 ttl 안에 반영된다)
+     */
+    private void updateProgress(Long projectId, boolean countsChanged) {
         taskMapper.updateProjectProgress(projectId);
-        return getTask(projectId, taskId);
+        if (countsChanged) {
+            cacheInvalidation.invalidate(ProjectMapper.class);
+        }
+    }
+
+    private void recordCompletion(boolean wasCompleted, TaskResponse task) {
+        if (!wasCompleted && Boolean.TRUE.equals(task.getCompleted())) {
+            TransactionHooks.afterCommit(() -> leadTimeSketches.record(task.getProjectId(), task.getPriority(),
+                    task.getCreatedAt(), task.getUpdatedAt()));
+        }
     }
 }
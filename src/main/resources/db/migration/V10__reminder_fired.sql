@@ -0,0 +1,16 @@
+-- 마감/일정 알림 발송 기록. (source_key, due_at) 당 한 번만 들어가므로
+-- 재기동 후 다시 적재하거나 여러 인스턴스가 같은 알림을 만나도 한 번만 발송된다.
+-- source_key: task:{project_id}:{task_id} 또는 event:{id}. due_at 은 벽시계 시각(반복 일정은 발생분마다 다르다)
+CREATE TABLE IF NOT EXISTS reminder_fired (
+    source_key  VARCHAR(64) NOT NULL,
+    due_at      TIMESTAMP NOT NULL,
+    kind        VARCHAR(16) NOT NULL,
+    project_id  BIGINT,
+    ref_id      BIGINT NOT NULL,
+    title       VARCHAR(255),
+    fired_at    TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (source_key, due_at)
+);
+
+-- ReminderMapper.findRecent / findFiredKeys / deleteFiredBefore
+CREATE INDEX IF NOT EXISTS idx_reminder_fired_fired_at ON reminder_fired (fired_at);
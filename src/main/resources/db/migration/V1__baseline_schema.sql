@@ -0,0 +1,67 @@
+-- 기본 스키마 (마이그레이션 도입 이전부터 쓰던 테이블)
+-- 기존 DB 는 baseline-version: 1 로 이 파일을 건너뛰고, 빈 DB 에서만 실행된다.
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'document_type') THEN
+        CREATE TYPE document_type AS ENUM ('spec', 'design', 'guide', 'api', 'other');
+    END IF;
+END;
+$$;
+
+CREATE TABLE IF NOT EXISTS projects (
+    id          BIGSERIAL PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    category    VARCHAR(50),
+    priority    VARCHAR(20),
+    status      VARCHAR(20),
+    deadline    DATE,
+    description TEXT NOT NULL DEFAULT '',
+    progress    INTEGER NOT NULL DEFAULT 0,
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- 프로젝트별 task_id 채번
+CREATE TABLE IF NOT EXISTS project_task_seq (
+    project_id   BIGINT PRIMARY KEY REFERENCES projects (id) ON DELETE CASCADE,
+    next_task_id BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    project_id  BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    task_id     BIGINT NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    completed   BOOLEAN NOT NULL DEFAULT false,
+    priority    VARCHAR(20),
+    deadline    DATE,
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (project_id, task_id)
+);
+
+CREATE TABLE IF NOT EXISTS project_documents (
+    id              BIGSERIAL PRIMARY KEY,
+    project_id      BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    title           VARCHAR(255) NOT NULL,
+    description     TEXT,
+    doc_type        document_type NOT NULL DEFAULT 'other',
+    original_name   VARCHAR(255) NOT NULL,
+    stored_name     VARCHAR(255) NOT NULL UNIQUE,
+    storage_path    VARCHAR(255) NOT NULL,
+    mime_type       VARCHAR(255),
+    file_size       BIGINT,
+    checksum_sha256 CHAR(64),
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS calendar_event (
+    id         BIGSERIAL PRIMARY KEY,
+    event_date DATE NOT NULL,
+    title      VARCHAR(255) NOT NULL,
+    event_type VARCHAR(50),
+    event_time VARCHAR(20),
+    memo       TEXT
+);
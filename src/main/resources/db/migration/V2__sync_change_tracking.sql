@@ -0,0 +1,80 @@
+-- 증분 동기화(/api/sync)용 변경 추적
+-- tasks/projects 의 모든 INSERT/UPDATE 는 change_seq 를 새로 받고, DELETE 는 sync_tombstones 에 남는다.
+
+CREATE SEQUENCE IF NOT EXISTS sync_change_seq;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+
+UPDATE projects SET change_seq = nextval('sync_change_seq') WHERE change_seq IS NULL;
+UPDATE tasks SET change_seq = nextval('sync_change_seq') WHERE change_seq IS NULL;
+
+ALTER TABLE tasks ALTER COLUMN change_seq SET DEFAULT nextval('sync_change_seq');
+ALTER TABLE tasks ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE projects ALTER COLUMN change_seq SET DEFAULT nextval('sync_change_seq');
+ALTER TABLE projects ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_change_seq ON tasks (change_seq);
+CREATE INDEX IF NOT EXISTS idx_projects_change_seq ON projects (change_seq);
+
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    change_seq  BIGINT PRIMARY KEY DEFAULT nextval('sync_change_seq'),
+    entity_type VARCHAR(16) NOT NULL, -- task, project
+    project_id  BIGINT NOT NULL,
+    entity_id   BIGINT NOT NULL,      -- task_id 또는 project id
+    deleted_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_deleted_at ON sync_tombstones (deleted_at);
+
+-- 보관 기간이 지나 삭제된 tombstone 의 최대 change_seq. 이보다 오래된 토큰은 재동기화 대상
+CREATE TABLE IF NOT EXISTS sync_state (
+    id             SMALLINT PRIMARY KEY CHECK (id = 1),
+    purged_through BIGINT NOT NULL DEFAULT 0
+);
+INSERT INTO sync_state (id) VALUES (1) ON CONFLICT DO NOTHING;
+
+-- 쓰기 트랜잭션은 공유 advisory lock 을 잡은 뒤 번호를 받는다.
+-- 동기화 조회는 같은 키의 배타 lock 으로 진행 중인 쓰기가 끝나길 기다린 뒤 상한을 읽으므로,
+-- 아직 커밋되지 않은 낮은 번호를 건너뛰는 일이 없다.
+CREATE OR REPLACE FUNCTION sync_touch_change_seq() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock_shared(74027);
+    NEW.change_seq := nextval('sync_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sync_record_tombstone() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock_shared(74027);
+    IF TG_TABLE_NAME = 'tasks' THEN
+        INSERT INTO sync_tombstones (entity_type, project_id, entity_id)
+        VALUES ('task', OLD.project_id, OLD.task_id);
+    ELSE
+        INSERT INTO sync_tombstones (entity_type, project_id, entity_id)
+        VALUES ('project', OLD.id, OLD.id);
+    END IF;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_tasks_change_seq ON tasks;
+CREATE TRIGGER trg_tasks_change_seq
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION sync_touch_change_seq();
+
+DROP TRIGGER IF EXISTS trg_projects_change_seq ON projects;
+CREATE TRIGGER trg_projects_change_seq
+    BEFORE INSERT OR UPDATE ON projects
+    FOR EACH ROW EXECUTE FUNCTION sync_touch_change_seq();
+
+DROP TRIGGER IF EXISTS trg_tasks_tombstone ON tasks;
+CREATE TRIGGER trg_tasks_tombstone
+    AFTER DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION sync_record_tombstone();
+
+DROP TRIGGER IF EXISTS trg_projects_tombstone ON projects;
+CREATE TRIGGER trg_projects_tombstone
+    AFTER DELETE ON projects
+    FOR EACH ROW EXECUTE FUNCTION sync_record_tombstone();
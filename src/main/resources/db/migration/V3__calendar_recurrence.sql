@@ -0,0 +1,22 @@
+-- 반복 일정: 규칙은 calendar_event 한 행에 저장하고 조회 시 구간 안에서만 펼친다.
+-- recur_end 는 until/count 로 계산한 마지막 발생일(무기한이면 NULL)로, 구간 조회 필터에 쓴다.
+
+ALTER TABLE calendar_event ADD COLUMN IF NOT EXISTS recur_freq VARCHAR(8);
+ALTER TABLE calendar_event ADD COLUMN IF NOT EXISTS recur_interval INTEGER;
+ALTER TABLE calendar_event ADD COLUMN IF NOT EXISTS recur_until DATE;
+ALTER TABLE calendar_event ADD COLUMN IF NOT EXISTS recur_count INTEGER;
+ALTER TABLE calendar_event ADD COLUMN IF NOT EXISTS recur_end DATE;
+
+ALTER TABLE calendar_event
+    ADD CONSTRAINT chk_calendar_event_recur_freq
+    CHECK (recur_freq IS NULL OR recur_freq IN ('DAILY', 'WEEKLY', 'MONTHLY'));
+
+CREATE TABLE IF NOT EXISTS calendar_event_exception (
+    event_id       BIGINT NOT NULL REFERENCES calendar_event (id) ON DELETE CASCADE,
+    exception_date DATE NOT NULL,
+    PRIMARY KEY (event_id, exception_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_calendar_event_recurring
+    ON calendar_event (event_date, recur_end)
+    WHERE recur_freq IS NOT NULL;
@@ -0,0 +1,20 @@
+-- 매퍼 조건별 인덱스. 각 인덱스 옆에 사용하는 statement 를 적어 둔다.
+-- QueryPlanTests 가 시드 데이터로 모든 SELECT 를 EXPLAIN 해서 큰 테이블 Seq Scan 을 잡아낸다.
+
+-- TaskMapper.findRecentCompletedTasks, AnalyticsMapper.findRecentCompletedTasks
+-- AnalyticsMapper.find{Daily,Weekly,Monthly}CompletedStats, MainMapper.selectSummaryStats (이번 주 완료)
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_updated_at ON tasks (completed, updated_at);
+
+-- MainMapper.selectChartData, selectHeroStats, selectSummaryStats (마감일 구간 집계)
+CREATE INDEX IF NOT EXISTS idx_tasks_deadline ON tasks (deadline);
+
+-- TaskMapper.findByProjectId / findByPk, ProjectMapper.projectOverview 는 PK (project_id, task_id) 로 충분
+
+-- DocumentMapper.findByProjectId (ORDER BY created_at DESC), ProjectMapper.projectOverview
+CREATE INDEX IF NOT EXISTS idx_project_documents_project_created ON project_documents (project_id, created_at);
+
+-- CalendarMapper.findByDateRange (단일 일정 구간). 반복 일정은 V3 의 부분 인덱스를 쓴다
+CREATE INDEX IF NOT EXISTS idx_calendar_event_event_date ON calendar_event (event_date);
+
+-- ProjectMapper.projectsList, MainMapper.selectMainItems (ORDER BY deadline)
+CREATE INDEX IF NOT EXISTS idx_projects_deadline ON projects (deadline, id);
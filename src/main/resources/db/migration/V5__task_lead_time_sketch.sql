@@ -0,0 +1,10 @@
+-- 작업 리드타임(created_at -> 완료) 분위수 스케치. 프로젝트 x 우선순위마다 t-digest 하나.
+-- 인스턴스마다 메모리에 쌓은 증분을 주기적으로 이 행에 병합한다 (SELECT ... FOR UPDATE 후 덮어쓰기).
+CREATE TABLE IF NOT EXISTS task_lead_time_sketch (
+    project_id   BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    priority     VARCHAR(20) NOT NULL, -- 우선순위가 없는 작업은 ''
+    digest       BYTEA NOT NULL,       -- MergingDigest small encoding, 단위: 시간
+    sample_count BIGINT NOT NULL,
+    updated_at   TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (project_id, priority)
+);
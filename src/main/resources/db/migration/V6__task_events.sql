@@ -0,0 +1,83 @@
+-- 작업 이벤트 로그 (append-only, 월 단위 RANGE 파티션)
+-- 완료 이력의 기준. tasks.updated_at 은 수정할 때마다 바뀌므로 완료 시각으로 쓰지 않는다.
+-- completed 는 이벤트 직후 상태, open_delta 는 이 이벤트로 바뀐 미완료 작업 수(-1, 0, 1).
+
+CREATE TABLE IF NOT EXISTS task_events (
+    event_id    BIGINT GENERATED ALWAYS AS IDENTITY,
+    occurred_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    project_id  BIGINT NOT NULL, -- 프로젝트/작업이 삭제돼도 이력은 남긴다 (FK 없음)
+    task_id     BIGINT NOT NULL,
+    event_type  VARCHAR(16) NOT NULL
+        CHECK (event_type IN ('created', 'updated', 'completed', 'reopened', 'deleted')),
+    completed   BOOLEAN NOT NULL,
+    open_delta  SMALLINT NOT NULL DEFAULT 0,
+    priority    VARCHAR(20),
+    title       VARCHAR(255),
+    PRIMARY KEY (occurred_at, event_id)
+) PARTITION BY RANGE (occurred_at);
+
+-- 완료 추이/최근 완료: event_type + 시간 범위 (파티션 프루닝 후 인덱스 범위 스캔)
+CREATE INDEX IF NOT EXISTS idx_task_events_type_time ON task_events (event_type, occurred_at);
+-- 프로젝트별 번다운
+CREATE INDEX IF NOT EXISTS idx_task_events_project_time ON task_events (project_id, occurred_at);
+
+-- target_month 가 속한 달의 파티션 (task_events_pYYYYMM) 을 없으면 만든다
+CREATE OR REPLACE FUNCTION task_events_create_partition(target_month DATE) RETURNS void AS $$
+DECLARE
+    lower_bound DATE := date_trunc('month', target_month)::date;
+    upper_bound DATE := (date_trunc('month', target_month) + interval '1 month')::date;
+    part_name   TEXT := 'task_events_p' || to_char(lower_bound, 'YYYYMM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF task_events FOR VALUES FROM (%L) TO (%L)',
+                   part_name, lower_bound, upper_bound);
+END;
+$$ LANGUAGE plpgsql;
+
+-- 앞으로 ahead_months 개월 파티션을 미리 만들고, retention_months 보다 오래된 파티션은 떼어내 지운다
+CREATE OR REPLACE FUNCTION task_events_maintain(ahead_months INTEGER, retention_months INTEGER) RETURNS void AS $$
+DECLARE
+    cutoff    DATE := (date_trunc('month', current_date) - make_interval(months => retention_months))::date;
+    part      RECORD;
+BEGIN
+    -- 여러 인스턴스가 동시에 돌려도 한 번에 하나씩
+    PERFORM pg_advisory_xact_lock(74039);
+    FOR i IN 0..ahead_months LOOP
+        PERFORM task_events_create_partition((current_date + make_interval(months => i))::date);
+    END LOOP;
+
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'task_events'::regclass
+          AND c.relname ~ '^task_events_p[0-9]{6}$'
+          AND to_date(substring(c.relname from 14), 'YYYYMM') < cutoff
+    LOOP
+        EXECUTE format('ALTER TABLE task_events DETACH PARTITION %I', part.relname);
+        EXECUTE format('DROP TABLE %I', part.relname);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 작업으로 초기 이력 채우기: 생성 이벤트 + (완료된 작업은) updated_at 시점 완료 이벤트
+DO $$
+DECLARE
+    first_month DATE;
+BEGIN
+    SELECT date_trunc('month', MIN(created_at))::date INTO first_month FROM tasks;
+    IF first_month IS NOT NULL THEN
+        PERFORM task_events_create_partition(m::date)
+        FROM generate_series(first_month, date_trunc('month', current_date), interval '1 month') m;
+    END IF;
+    PERFORM task_events_maintain(3, 1200);
+END;
+$$;
+
+INSERT INTO task_events (occurred_at, project_id, task_id, event_type, completed, open_delta, priority, title)
+SELECT created_at, project_id, task_id, 'created', false, 1, priority, title
+FROM tasks;
+
+INSERT INTO task_events (occurred_at, project_id, task_id, event_type, completed, open_delta, priority, title)
+SELECT GREATEST(updated_at, created_at), project_id, task_id, 'completed', true, -1, priority, title
+FROM tasks
+WHERE completed = true;
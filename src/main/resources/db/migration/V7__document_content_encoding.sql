@@ -0,0 +1,2 @@
+-- 저장된 파일의 압축 방식. NULL 이면 원본 그대로 저장된 파일
+ALTER TABLE project_documents ADD COLUMN IF NOT EXISTS content_encoding VARCHAR(16);
@@ -0,0 +1,28 @@
+-- 프로젝트 삭제는 deleted_at 만 찍고 바로 응답한다. 작업/문서/파일은 ProjectPurger 가 뒤에서 나눠 지운다.
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+
+-- 정리 대기 중인 프로젝트만 들어가는 부분 인덱스 (대부분의 행은 NULL)
+CREATE INDEX IF NOT EXISTS idx_projects_deleted_at ON projects (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- ProjectPurgeMapper.findDocumentBatch (project_id + id keyset)
+CREATE INDEX IF NOT EXISTS idx_project_documents_project_id ON project_documents (project_id, id);
+
+-- 프로젝트별 정리 진행 상황. 프로젝트 행이 지워진 뒤에도 진행 조회에 쓰도록 FK 는 두지 않는다.
+-- phase: tasks -> documents -> done. last_*_id 는 keyset 커서라 재기동 후에도 이어서 진행한다
+CREATE TABLE IF NOT EXISTS project_purge_jobs (
+    project_id         BIGINT PRIMARY KEY,
+    phase              VARCHAR(16) NOT NULL DEFAULT 'tasks',
+    tasks_total        BIGINT NOT NULL DEFAULT 0,
+    tasks_deleted      BIGINT NOT NULL DEFAULT 0,
+    documents_total    BIGINT NOT NULL DEFAULT 0,
+    documents_deleted  BIGINT NOT NULL DEFAULT 0,
+    files_deleted      BIGINT NOT NULL DEFAULT 0,
+    last_task_id       BIGINT NOT NULL DEFAULT 0,
+    last_document_id   BIGINT NOT NULL DEFAULT 0,
+    last_error         TEXT,
+    requested_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at         TIMESTAMPTZ NOT NULL DEFAULT now(),
+    finished_at        TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_purge_jobs_pending ON project_purge_jobs (requested_at) WHERE phase <> 'done';
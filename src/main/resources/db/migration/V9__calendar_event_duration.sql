@@ -0,0 +1,7 @@
+-- 일정 길이(분). NULL 이면 calendar.interval-index.default-duration-minutes 로 본다.
+-- event_time 이 없는 종일 일정은 충돌 검사/빈 시간 계산에서 시간을 차지하지 않는다
+ALTER TABLE calendar_event ADD COLUMN IF NOT EXISTS duration_minutes INTEGER;
+
+ALTER TABLE calendar_event
+    ADD CONSTRAINT chk_calendar_event_duration
+    CHECK (duration_minutes IS NULL OR duration_minutes BETWEEN 1 AND 1440);
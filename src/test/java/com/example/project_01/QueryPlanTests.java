@@ -0,0 +1,214 @@
+package com.example.project_01;
+
+import com.example.project_01.task.dto.TaskQuery;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매퍼의 모든 SELECT 를 시드 데이터 위에서 EXPLAIN 해서, 큰 테이블을 Seq Scan 하는 조회가 생기면 실패한다.
+ * 시드/ANALYZE 는 테스트 트랜잭션 안에서 하고 끝나면 롤백된다.
+ */
+@SpringBootTest
+@Transactional
+class QueryPlanTests {
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "tasks", "project_documents", "calendar_event", "calendar_event_exception", "sync_tombstones",
+            "task_events");
+
+    // 테이블 전체(또는 대부분)를 읽는 것이 목적인 조회
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            "com.example.project_01.task.mapper.TaskMapper.findAll",
+            "com.example.project_01.task.mapper.TaskMapper.queryTaskFacets",
+            "com.example.project_01.analytics.mapper.AnalyticsMapper.countTotalTasks",
+            "com.example.project_01.analytics.mapper.AnalyticsMapper.countCompletedTasks",
+            "com.example.project_01.analytics.mapper.AnalyticsMapper.findProjectCompletionStats",
+            "com.example.project_01.analytics.mapper.AnalyticsMapper.findPriorityCompletionStats",
+            "com.example.project_01.analytics.mapper.AnalyticsMapper.findMonthlyCompletedStats",
+            "com.example.project_01.analytics.mapper.LeadTimeSketchMapper.streamCompletedLeadTimes",
+            "com.example.project_01.main.mapper.MainMapper.selectSummaryStats",
+            "com.example.project_01.search.mapper.SearchMapper.streamTasks",
+            "com.example.project_01.search.mapper.SearchMapper.streamDocuments");
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void mappedSelectsDoNotSeqScanLargeTables() throws Exception {
+        Map<String, Object> params = seed();
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+
+        List<String> checked = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (String id : new TreeSet<>(configuration.getMappedStatementNames())) {
+            // 짧은 이름(네임스페이스 없는 별칭)과 selectKey 는 건너뛴다
+            if (!id.contains(".") || id.contains("!")) {
+                continue;
+            }
+            MappedStatement statement = configuration.getMappedStatement(id);
+            if (statement.getSqlCommandType() != SqlCommandType.SELECT) {
+                continue;
+            }
+            checked.add(id);
+
+            BoundSql boundSql = statement.getBoundSql(params);
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + boundSql.getSql())) {
+                ParameterHandler handler = new DefaultParameterHandler(statement, params, boundSql);
+                handler.setParameters(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    JsonNode plan = objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+                    Set<String> scanned = new TreeSet<>();
+                    collectSeqScans(plan, scanned);
+                    scanned.retainAll(LARGE_TABLES);
+                    if (!scanned.isEmpty() && !FULL_SCAN_ALLOWED.contains(id)) {
+                        failures.add(id + " -> Seq Scan on " + scanned);
+                    }
+                }
+            }
+        }
+
+        assertThat(checked).isNotEmpty();
+        assertThat(failures).isEmpty();
+    }
+
+    private static void collectSeqScans(JsonNode node, Set<String> relations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            // task_events 파티션(task_events_pYYYYMM)은 부모 테이블 이름으로 센다
+            relations.add(relation.startsWith("task_events_") ? "task_events" : relation);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, relations);
+        }
+    }
+
+    /** 플래너가 인덱스를 고를 만한 규모로 채우고, 매퍼 파라미터 이름별 값을 돌려준다 */
+    private Map<String, Object> seed() {
+        jdbcTemplate.update("""
+                INSERT INTO projects (name, category, priority, status, deadline, description, progress)
+                SELECT 'plan-seed ' || g, 'dev', 'medium',
+                       CASE WHEN g % 3 = 0 THEN 'completed' ELSE 'active' END,
+                       current_date + (g % 730 - 365), '', 0
+                FROM generate_series(1, 200) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (project_id, task_id, title, description, completed, priority, deadline,
+                                   created_at, updated_at)
+                SELECT p.id, t, 'task ' || t, '', t % 2 = 0, (ARRAY['low', 'medium', 'high'])[t % 3 + 1],
+                       current_date + ((p.id + t) % 1460 - 730),
+                       now() - make_interval(days => t % 1825),
+                       now() - make_interval(days => (p.id * 7 + t) % 1825)
+                FROM projects p CROSS JOIN generate_series(1, 250) t
+                WHERE p.name LIKE 'plan-seed %'
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO project_documents (project_id, title, description, doc_type, original_name,
+                                               stored_name, storage_path, mime_type, file_size, created_at)
+                SELECT p.id, 'doc ' || d, '', 'spec', 'doc' || d || '.pdf',
+                       'plan-seed-' || p.id || '-' || d, '/upload', 'application/pdf', 1024,
+                       now() - make_interval(days => d)
+                FROM projects p CROSS JOIN generate_series(1, 100) d
+                WHERE p.name LIKE 'plan-seed %'
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO calendar_event (event_date, title, event_type, event_time, memo,
+                                            recur_freq, recur_interval, recur_end)
+                SELECT current_date + (g % 1825 - 912), 'event ' || g, 'meeting', '10:00', '',
+                       CASE WHEN g % 100 = 0 THEN 'WEEKLY' END,
+                       CASE WHEN g % 100 = 0 THEN 1 END,
+                       CASE WHEN g % 100 = 0 THEN current_date + (g % 1825 - 912) + 70 END
+                FROM generate_series(1, 20000) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO calendar_event_exception (event_id, exception_date)
+                SELECT id, event_date + 7 FROM calendar_event WHERE recur_freq IS NOT NULL
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO sync_tombstones (entity_type, project_id, entity_id, deleted_at)
+                SELECT 'task', 0, g, now() - make_interval(days => g % 60)
+                FROM generate_series(1, 20000) g
+                """);
+        jdbcTemplate.execute("""
+                SELECT task_events_create_partition(m::date)
+                FROM generate_series(date_trunc('month', now() - interval '5 years'), now(), interval '1 month') m
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO task_events (occurred_at, project_id, task_id, event_type, completed, open_delta,
+                                         priority, title)
+                SELECT created_at, project_id, task_id, 'created', false, 1, priority, title
+                FROM tasks
+                UNION ALL
+                SELECT updated_at, project_id, task_id, 'completed', true, -1, priority, title
+                FROM tasks
+                WHERE completed = true
+                """);
+        for (String table : List.of("projects", "tasks", "project_documents", "calendar_event",
+                "calendar_event_exception", "sync_tombstones", "task_events")) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+
+        Long projectId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM projects WHERE name LIKE 'plan-seed %'", Long.class);
+        Long recurringEventId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM calendar_event WHERE recur_freq IS NOT NULL", Long.class);
+        Long upTo = jdbcTemplate.queryForObject("SELECT last_value FROM sync_change_seq", Long.class);
+        YearMonth month = YearMonth.now();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", projectId);
+        params.put("projectId", projectId);
+        params.put("taskId", 1L);
+        params.put("start", month.atDay(1));
+        params.put("end", month.atEndOfMonth());
+        params.put("eventIds", List.of(recurringEventId));
+        params.put("limit", 5);
+        params.put("afterId", 0L);
+        params.put("query", new TaskQuery());
+        params.put("orderBy", "deadline ASC");
+        params.put("offset", 0);
+        params.put("since", upTo - 100);
+        params.put("upTo", upTo);
+        params.put("columns", null);
+        params.put("date", LocalDate.now());
+        params.put("from", LocalDate.now().minusDays(90));
+        params.put("to", LocalDate.now());
+        params.put("granularity", "day");
+        params.put("priority", "high");
+        params.put("firedAfter", OffsetDateTime.now().minusDays(1));
+        return params;
+    }
+}
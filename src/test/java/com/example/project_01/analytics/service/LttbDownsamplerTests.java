@@ -0,0 +1,67 @@
+package com.example.project_01.analytics.service;
+
+import com.example.project_01.analytics.dto.ChartDataResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LttbDownsamplerTests {
+
+    @Test
+    void emitsExactlyMaxPointsKeepingFirstAndLast() {
+        Random random = new Random(42);
+        for (int total = 4; total <= 200; total++) {
+            for (int maxPoints = 3; maxPoints < total; maxPoints++) {
+                List<ChartDataResponse> input = series(total, random);
+
+                List<ChartDataResponse> output = downsample(input, maxPoints);
+
+                assertThat(output).as("total %d, maxPoints %d", total, maxPoints).hasSize(maxPoints);
+                assertThat(output.get(0)).isSameAs(input.get(0));
+                assertThat(output.get(maxPoints - 1)).isSameAs(input.get(total - 1));
+                assertThat(output).isSubsetOf(input);
+                assertThat(output.stream().map(input::indexOf).toList()).isSorted().doesNotHaveDuplicates();
+            }
+        }
+    }
+
+    @Test
+    void passesThroughWhenTotalFitsMaxPoints() {
+        List<ChartDataResponse> input = series(5, new Random(1));
+
+        assertThat(downsample(input, 5)).containsExactlyElementsOf(input);
+        assertThat(downsample(input, 500)).containsExactlyElementsOf(input);
+        assertThat(downsample(List.of(), 3)).isEmpty();
+    }
+
+    @Test
+    void keepsSpikeInFlatSeries() {
+        List<ChartDataResponse> input = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            input.add(new ChartDataResponse("d" + i, i == 50 ? 100 : 0));
+        }
+
+        List<ChartDataResponse> output = downsample(input, 10);
+
+        assertThat(output).hasSize(10).contains(input.get(50));
+    }
+
+    private static List<ChartDataResponse> downsample(List<ChartDataResponse> input, int maxPoints) {
+        List<ChartDataResponse> output = new ArrayList<>();
+        LttbDownsampler downsampler = new LttbDownsampler(input.size(), maxPoints, output::add);
+        input.forEach(downsampler);
+        return output;
+    }
+
+    private static List<ChartDataResponse> series(int total, Random random) {
+        List<ChartDataResponse> points = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            points.add(new ChartDataResponse("d" + i, random.nextInt(100)));
+        }
+        return points;
+    }
+}
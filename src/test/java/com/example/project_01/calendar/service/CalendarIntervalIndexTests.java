@@ -0,0 +1,164 @@
+package com.example.project_01.calendar.service;
+
+import com.example.project_01.calendar.dto.CalendarResponse;
+import com.example.project_01.calendar.dto.FreeSlotResponse;
+import com.example.project_01.calendar.mapper.CalendarMapper;
+import com.example.project_01.config.CacheInvalidationBus;
+import com.example.project_01.task.dto.TaskResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DB 없이 일정은 loader 로, 작업 마감일은 가짜 CalendarMapper 로 넘긴다.
+ * 인덱스의 활성 구간이 오늘 기준이므로 날짜는 내일/모레로 잡는다.
+ */
+class CalendarIntervalIndexTests {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private final List<CalendarResponse> events = new ArrayList<>();
+    private final List<TaskResponse> tasks = new ArrayList<>();
+    private final BiFunction<LocalDate, LocalDate, List<CalendarResponse>> loader = (from, to) -> events.stream()
+            .filter(event -> !event.getDate().isBefore(from) && !event.getDate().isAfter(to))
+            .toList();
+    private final CalendarIntervalIndex index = new CalendarIntervalIndex(calendarMapper(), cacheInvalidation(),
+            31, 366, Duration.ofSeconds(30), 60, "09:00", "18:00", 31);
+
+    @Test
+    void findsGapsBetweenOverlappingEvents() {
+        events.add(event(1L, DAY, "10:00", 60));
+        events.add(event(2L, DAY, "10:30", 15)); // 앞 일정 안에 들어간다
+        events.add(event(3L, DAY, "13:00", 90));
+
+        List<FreeSlotResponse> slots = index.freeSlots(DAY.atStartOfDay(), DAY.atTime(23, 59), 60, false, 10, loader);
+
+        assertThat(slots).containsExactly(
+                slot(DAY, "09:00", "10:00", 60),
+                slot(DAY, "11:00", "13:00", 120),
+                slot(DAY, "14:30", "18:00", 210));
+    }
+
+    @Test
+    void gapsShorterThanDurationAreSkipped() {
+        events.add(event(1L, DAY, "09:30", 60));
+        events.add(event(2L, DAY, "11:00", 60));
+
+        List<FreeSlotResponse> slots = index.freeSlots(DAY.atStartOfDay(), DAY.atTime(23, 59), 45, false, 10, loader);
+
+        // 09:00-09:30 과 10:30-11:00 은 45분보다 짧다
+        assertThat(slots).containsExactly(slot(DAY, "12:00", "18:00", 360));
+    }
+
+    @Test
+    void rangeClipsWorkingHoursAndAllDayEventsAreIgnored() {
+        events.add(event(1L, DAY, null, null));
+        events.add(event(2L, DAY, "15:00", 30));
+
+        List<FreeSlotResponse> slots = index.freeSlots(DAY.atTime(9, 30), DAY.atTime(16, 0), 30, false, 10, loader);
+
+        assertThat(slots).containsExactly(
+                slot(DAY, "09:30", "15:00", 330),
+                slot(DAY, "15:30", "16:00", 30));
+    }
+
+    @Test
+    void taskDeadlinesBlockTheDayOnlyWhenRequested() {
+        TaskResponse task = new TaskResponse();
+        task.setProjectId(1L);
+        task.setTaskId(7L);
+        task.setTitle("release");
+        task.setDeadline(DAY);
+        tasks.add(task);
+        LocalDate nextDay = DAY.plusDays(1);
+
+        assertThat(index.freeSlots(DAY.atStartOfDay(), nextDay.atTime(23, 59), 60, true, 10, loader))
+                .containsExactly(slot(nextDay, "09:00", "18:00", 540));
+        assertThat(index.freeSlots(DAY.atStartOfDay(), nextDay.atTime(23, 59), 60, false, 10, loader))
+                .containsExactly(slot(DAY, "09:00", "18:00", 540), slot(nextDay, "09:00", "18:00", 540));
+    }
+
+    @Test
+    void stopsAtLimit() {
+        events.add(event(1L, DAY, "12:00", 60));
+
+        assertThat(index.freeSlots(DAY.atStartOfDay(), DAY.plusDays(3).atStartOfDay(), 60, false, 2, loader))
+                .containsExactly(slot(DAY, "09:00", "12:00", 180), slot(DAY, "13:00", "18:00", 300));
+    }
+
+    @Test
+    void invalidatedIndexSeesNewEvents() {
+        assertThat(index.freeSlots(DAY.atStartOfDay(), DAY.atTime(23, 59), 60, false, 10, loader)).hasSize(1);
+
+        events.add(event(1L, DAY, "12:00", 60));
+        index.invalidate();
+
+        assertThat(index.freeSlots(DAY.atStartOfDay(), DAY.atTime(23, 59), 60, false, 10, loader)).hasSize(2);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        LocalDateTime from = DAY.atStartOfDay();
+        assertBadRequest(() -> index.freeSlots(from, from, 60, false, 10, loader));
+        assertBadRequest(() -> index.freeSlots(from, from.plusDays(40), 60, false, 10, loader));
+        assertBadRequest(() -> index.freeSlots(from, from.plusDays(1), 0, false, 10, loader));
+        assertBadRequest(() -> index.freeSlots(from, from.plusDays(1), 60, false, 0, loader));
+    }
+
+    private static void assertBadRequest(Runnable call) {
+        assertThatThrownBy(call::run).isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static FreeSlotResponse slot(LocalDate day, String start, String end, long minutes) {
+        return new FreeSlotResponse(day.atTime(LocalTime.parse(start)), day.atTime(LocalTime.parse(end)), minutes);
+    }
+
+    private static CalendarResponse event(Long id, LocalDate date, String time, Integer durationMinutes) {
+        CalendarResponse event = new CalendarResponse();
+        event.setId(id);
+        event.setDate(date);
+        event.setTitle("event " + id);
+        event.setTime(time);
+        event.setDurationMinutes(durationMinutes);
+        return event;
+    }
+
+    private CalendarMapper calendarMapper() {
+        return (CalendarMapper) Proxy.newProxyInstance(CalendarMapper.class.getClassLoader(),
+                new Class<?>[]{CalendarMapper.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findTaskDeadlines")) {
+                        LocalDate start = (LocalDate) args[0];
+                        LocalDate end = (LocalDate) args[1];
+                        return tasks.stream()
+                                .filter(task -> !task.getDeadline().isBefore(start) && !task.getDeadline().isAfter(end))
+                                .toList();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // 리스너를 띄우지 않는 버스 (enabled=false)
+    private static CacheInvalidationBus cacheInvalidation() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:postgresql://localhost:5432/test");
+        properties.setUsername("test");
+        properties.setPassword("test");
+        return new CacheInvalidationBus(null, properties, new SimpleMeterRegistry(), false, "mybatis_cache",
+                Duration.ofMillis(500), Duration.ofSeconds(30), Duration.ofSeconds(2));
+    }
+}
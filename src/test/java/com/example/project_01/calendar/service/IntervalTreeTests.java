@@ -0,0 +1,83 @@
+package com.example.project_01.calendar.service;
+
+import com.example.project_01.calendar.service.IntervalTree.Interval;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTests {
+
+    @Test
+    void boundariesAreHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of(new Interval<>(10, 20, "a")));
+
+        assertThat(tree.overlaps(0, 10)).isEmpty();
+        assertThat(tree.overlaps(20, 30)).isEmpty();
+        assertThat(tree.overlaps(0, 11)).extracting(Interval::value).containsExactly("a");
+        assertThat(tree.overlaps(19, 30)).extracting(Interval::value).containsExactly("a");
+        assertThat(tree.overlaps(12, 15)).extracting(Interval::value).containsExactly("a");
+    }
+
+    @Test
+    void emptyOrInvertedQueryMatchesNothing() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of(new Interval<>(10, 20, "a")));
+
+        assertThat(tree.overlaps(15, 15)).isEmpty();
+        assertThat(tree.overlaps(18, 12)).isEmpty();
+        assertThat(new IntervalTree<String>(List.of()).overlaps(0, 100)).isEmpty();
+    }
+
+    @Test
+    void resultsComeInStartOrder() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of(
+                new Interval<>(50, 60, "d"), new Interval<>(5, 55, "a"), new Interval<>(30, 40, "c"),
+                new Interval<>(20, 70, "b"), new Interval<>(80, 90, "e")));
+
+        assertThat(tree.overlaps(35, 58)).extracting(Interval::value).containsExactly("a", "b", "c", "d");
+        assertThat(tree.size()).isEqualTo(5);
+    }
+
+    @Test
+    void longIntervalInLeftSubtreeIsNotPruned() {
+        // 시작이 가장 이른 긴 구간은 왼쪽 끝 잎에 놓이므로 maxEnds 로만 찾을 수 있다
+        List<Interval<Integer>> intervals = new ArrayList<>();
+        intervals.add(new Interval<>(0, 1_000, -1));
+        for (int i = 1; i < 100; i++) {
+            intervals.add(new Interval<>(i * 2L, i * 2L + 1, i));
+        }
+        IntervalTree<Integer> tree = new IntervalTree<>(intervals);
+
+        assertThat(tree.overlaps(500, 510)).extracting(Interval::value).containsExactly(-1);
+        assertThat(tree.overlaps(1_000, 1_010)).isEmpty();
+    }
+
+    @Test
+    void matchesBruteForce() {
+        Random random = new Random(7);
+        List<Interval<Integer>> intervals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long start = random.nextInt(10_000);
+            intervals.add(new Interval<>(start, start + 1 + random.nextInt(random.nextBoolean() ? 20 : 2_000), i));
+        }
+        IntervalTree<Integer> tree = new IntervalTree<>(intervals);
+
+        for (int q = 0; q < 300; q++) {
+            long from = random.nextInt(10_500);
+            long to = from + random.nextInt(300);
+            List<Interval<Integer>> expected = intervals.stream()
+                    .filter(interval -> interval.start() < to && interval.end() > from)
+                    .sorted(Comparator.comparingLong(Interval<Integer>::start).thenComparingLong(Interval::end))
+                    .toList();
+
+            List<Interval<Integer>> actual = tree.overlaps(from, to);
+
+            assertThat(actual).as("[%d, %d)", from, to).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(actual).extracting(Interval::start).isSorted();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.project_01.calendar.service;
+
+import com.example.project_01.calendar.dto.CalendarEventException;
+import com.example.project_01.calendar.dto.CalendarResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OccurrenceIteratorTests {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 10);
+
+    @Test
+    void mergesSeriesAndSingleEventsByDateThenId() {
+        CalendarResponse everyThreeDays = recurring(7L, LocalDate.of(2024, 2, 27), "DAILY", 3);
+        CalendarResponse weekly = recurring(2L, LocalDate.of(2024, 3, 4), "WEEKLY", 1);
+        CalendarResponse single = single(5L, LocalDate.of(2024, 3, 4));
+
+        List<String> occurrences = occurrences(OccurrenceIterator.of(
+                new ArrayList<>(List.of(everyThreeDays, weekly, single)), List.of(), FROM, TO));
+
+        assertThat(occurrences).containsExactly(
+                "2024-03-01#7", "2024-03-04#2", "2024-03-04#5", "2024-03-04#7", "2024-03-07#7", "2024-03-10#7");
+    }
+
+    @Test
+    void occurrencesAreCopiesCarryingSeriesStart() {
+        CalendarResponse weekly = recurring(1L, LocalDate.of(2024, 2, 26), "WEEKLY", 1);
+
+        OccurrenceIterator it = OccurrenceIterator.of(new ArrayList<>(List.of(weekly)), List.of(), FROM, TO);
+        CalendarResponse first = it.next();
+
+        // 3/11 은 구간 밖
+        assertThat(it.hasNext()).isFalse();
+        assertThat(first.getDate()).isEqualTo(LocalDate.of(2024, 3, 4));
+        assertThat(first.getSeriesStart()).isEqualTo(LocalDate.of(2024, 2, 26));
+        assertThat(first).isNotSameAs(weekly);
+        assertThat(weekly.getDate()).isEqualTo(LocalDate.of(2024, 2, 26));
+    }
+
+    @Test
+    void exceptionDatesApplyOnlyToTheirEvent() {
+        CalendarResponse a = recurring(1L, FROM, "DAILY", 1);
+        a.setRecurCount(3);
+        CalendarResponse b = recurring(2L, FROM, "DAILY", 1);
+        b.setRecurCount(3);
+
+        OccurrenceIterator it = OccurrenceIterator.of(new ArrayList<>(List.of(a, b)),
+                List.of(exception(1L, LocalDate.of(2024, 3, 2))), FROM, TO);
+
+        assertThat(occurrences(it)).containsExactly(
+                "2024-03-01#1", "2024-03-01#2", "2024-03-02#2", "2024-03-03#1", "2024-03-03#2");
+        assertThat(a.getExceptionDates()).containsExactly(LocalDate.of(2024, 3, 2));
+        assertThat(b.getExceptionDates()).isNull();
+    }
+
+    @Test
+    void exhaustedIteratorThrows() {
+        OccurrenceIterator it = OccurrenceIterator.of(new ArrayList<>(List.of(single(1L, FROM))), List.of(), FROM, TO);
+
+        assertThat(it.next().getId()).isEqualTo(1L);
+        assertThat(it.hasNext()).isFalse();
+        assertThatThrownBy(it::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static List<String> occurrences(OccurrenceIterator it) {
+        List<String> keys = new ArrayList<>();
+        it.forEachRemaining(event -> keys.add(event.getDate() + "#" + event.getId()));
+        return keys;
+    }
+
+    private static CalendarResponse single(Long id, LocalDate date) {
+        CalendarResponse event = new CalendarResponse();
+        event.setId(id);
+        event.setDate(date);
+        event.setTitle("event " + id);
+        return event;
+    }
+
+    private static CalendarResponse recurring(Long id, LocalDate start, String freq, int interval) {
+        CalendarResponse event = single(id, start);
+        event.setRecurFreq(freq);
+        event.setRecurInterval(interval);
+        return event;
+    }
+
+    private static CalendarEventException exception(Long eventId, LocalDate date) {
+        CalendarEventException exception = new CalendarEventException();
+        exception.setEventId(eventId);
+        exception.setExceptionDate(date);
+        return exception;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.project_01.calendar.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceTests {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void dailyIntervalSkipsToFirstOccurrenceInRange() {
+        Recurrence everyThreeDays = Recurrence.of("daily", 3, null, null, null);
+
+        assertThat(dates(everyThreeDays, START, LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 14)))
+                .containsExactly(LocalDate.of(2024, 1, 7), LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 13));
+    }
+
+    @Test
+    void weeklyIntervalIncludesOccurrenceOnRangeStart() {
+        Recurrence biweekly = Recurrence.of("WEEKLY", 2, null, null, null);
+
+        assertThat(dates(biweekly, START, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 12)))
+                .containsExactly(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 29), LocalDate.of(2024, 2, 12));
+    }
+
+    @Test
+    void monthlyClampsToEndOfMonth() {
+        Recurrence monthly = Recurrence.of("MONTHLY", null, null, null, null);
+        LocalDate start = LocalDate.of(2024, 1, 31);
+
+        assertThat(dates(monthly, start, start, LocalDate.of(2024, 4, 30)))
+                .containsExactly(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31),
+                        LocalDate.of(2024, 4, 30));
+        // 구간이 월 중간에서 시작해도 앞선 발생일을 내지 않는다
+        assertThat(dates(monthly, start, LocalDate.of(2024, 3, 15), LocalDate.of(2024, 4, 30)))
+                .containsExactly(LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30));
+    }
+
+    @Test
+    void untilEndsSeriesInclusively() {
+        Recurrence daily = Recurrence.of("DAILY", 1, LocalDate.of(2024, 1, 3), null, null);
+
+        assertThat(dates(daily, START, START, LocalDate.of(2024, 1, 31)))
+                .containsExactly(START, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3));
+        assertThat(daily.lastOccurrence(START)).isEqualTo(LocalDate.of(2024, 1, 3));
+    }
+
+    @Test
+    void countLimitsOccurrencesEvenWhenRangeStartsLater() {
+        Recurrence fourTimes = Recurrence.of("WEEKLY", 1, null, 4, null);
+
+        assertThat(fourTimes.lastOccurrence(START)).isEqualTo(LocalDate.of(2024, 1, 22));
+        assertThat(dates(fourTimes, START, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 3, 1)))
+                .containsExactly(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 22));
+    }
+
+    @Test
+    void earlierOfUntilAndCountWins() {
+        assertThat(Recurrence.of("DAILY", 1, LocalDate.of(2024, 1, 10), 3, null).lastOccurrence(START))
+                .isEqualTo(LocalDate.of(2024, 1, 3));
+        assertThat(Recurrence.of("DAILY", 1, LocalDate.of(2024, 1, 2), 3, null).lastOccurrence(START))
+                .isEqualTo(LocalDate.of(2024, 1, 2));
+        assertThat(Recurrence.of("DAILY", 1, null, null, null).lastOccurrence(START)).isNull();
+    }
+
+    @Test
+    void exceptionDatesAreSkippedButStillCounted() {
+        Recurrence threeDays = Recurrence.of("DAILY", 1, null, 3, Set.of(LocalDate.of(2024, 1, 2)));
+
+        assertThat(dates(threeDays, START, START, LocalDate.of(2024, 1, 31)))
+                .containsExactly(START, LocalDate.of(2024, 1, 3));
+    }
+
+    @Test
+    void invalidRulesAreRejected() {
+        assertThat(Recurrence.of(" ", 1, null, null, null)).isNull();
+        assertThatThrownBy(() -> Recurrence.of("YEARLY", 1, null, null, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> Recurrence.of("DAILY", 0, null, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> Recurrence.of("DAILY", 1, null, 0, null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static List<LocalDate> dates(Recurrence recurrence, LocalDate seriesStart, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        Iterator<LocalDate> it = recurrence.occurrences(seriesStart, from, to);
+        it.forEachRemaining(dates::add);
+        assertThat(it.hasNext()).isFalse();
+        return dates;
+    }
+}
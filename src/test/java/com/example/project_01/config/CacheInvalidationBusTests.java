@@ -0,0 +1,75 @@
+package com.example.project_01.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 알림 수신은 dispatch() 를 직접 불러서 흉내 낸다 (NotifyingCacheTests 참고) */
+class CacheInvalidationBusTests {
+
+    private interface FakeMapper {
+    }
+
+    private static final String NAMESPACE = FakeMapper.class.getName();
+
+    private final AtomicInteger remoteInvalidations = new AtomicInteger();
+    private CacheInvalidationBus bus;
+    private NotifyingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        bus = NotifyingCacheTests.bus();
+        bus.connected();
+        cache = new NotifyingCache(NAMESPACE);
+        bus.onRemoteInvalidation(FakeMapper.class, remoteInvalidations::incrementAndGet);
+        cache.getObject("k");
+        cache.putObject("k", "value");
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.disconnected();
+    }
+
+    @Test
+    void remoteNotificationClearsCacheAndNotifiesSubscribers() {
+        bus.dispatch("other-node:" + NAMESPACE);
+
+        assertThat(cache.getSize()).isZero();
+        assertThat(remoteInvalidations).hasValue(1);
+    }
+
+    @Test
+    void notificationForOtherNamespaceIsIgnored() {
+        bus.dispatch("other-node:com.example.Unrelated");
+        bus.dispatch("malformed");
+
+        assertThat(cache.getSize()).isEqualTo(1);
+        assertThat(remoteInvalidations).hasValue(0);
+    }
+
+    @Test
+    void localInvalidateClearsOwnCacheOnly() {
+        bus.invalidate(FakeMapper.class);
+
+        assertThat(cache.getSize()).isZero();
+        // 같은 인스턴스의 쓰기는 그 쓰기를 한 쪽이 직접 처리한다
+        assertThat(remoteInvalidations).hasValue(0);
+    }
+
+    @Test
+    void reconnectFlushesEverySubscriber() {
+        bus.disconnected();
+        assertThat(CacheInvalidationBus.isListening()).isFalse();
+
+        bus.connected();
+
+        assertThat(CacheInvalidationBus.isListening()).isTrue();
+        assertThat(cache.getSize()).isZero();
+        assertThat(remoteInvalidations).hasValue(1);
+    }
+}
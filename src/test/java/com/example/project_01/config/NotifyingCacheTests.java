@@ -0,0 +1,139 @@
+package com.example.project_01.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Postgres 없이 리스너 연결/끊김을 버스의 connected()/disconnected() 로 흉내 낸다.
+ * 버스는 enabled=false 로 만들어 pg_notify 를 보내지 않는다.
+ */
+class NotifyingCacheTests {
+
+    private CacheInvalidationBus bus;
+    private NotifyingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        bus = bus();
+        bus.connected();
+        // 캐시는 정적 레지스트리에 남으므로 테스트마다 다른 namespace 를 쓴다
+        cache = new NotifyingCache("test." + UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.disconnected();
+    }
+
+    @Test
+    void storesAfterMissAndReturnsCopies() {
+        List<String> value = new ArrayList<>(List.of("a", "b"));
+
+        assertThat(cache.getObject("k")).isNull();
+        cache.putObject("k", value);
+
+        Object cached = cache.getObject("k");
+        assertThat(cached).isEqualTo(value).isNotSameAs(value);
+        ((List<?>) cached).clear();
+        assertThat(cache.getObject("k")).isEqualTo(List.of("a", "b"));
+    }
+
+    @Test
+    void putWithoutPendingMissIsDropped() {
+        cache.putObject("k", "value");
+
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    void clearBetweenMissAndPutDropsStaleValue() {
+        assertThat(cache.getObject("k")).isNull();
+        // 조회하는 사이 다른 쓰기가 캐시를 비웠다
+        cache.clear();
+        cache.putObject("k", "stale");
+
+        assertThat(cache.getSize()).isZero();
+        assertThat(cache.getObject("k")).isNull();
+        cache.putObject("k", "fresh");
+        assertThat(cache.getObject("k")).isEqualTo("fresh");
+    }
+
+    @Test
+    void removeBetweenMissAndPutDropsStaleValue() {
+        assertThat(cache.getObject("k")).isNull();
+        cache.removeObject("k");
+        cache.putObject("k", "stale");
+
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    void bypassedWhileListenerIsDown() {
+        assertThat(cache.getObject("k")).isNull();
+        cache.putObject("k", "value");
+
+        bus.disconnected();
+        assertThat(cache.getObject("k")).isNull();
+        assertThat(cache.getObject("other")).isNull();
+        cache.putObject("other", "value");
+        assertThat(cache.getSize()).isEqualTo(1);
+
+        bus.connected();
+        // 다시 붙으면 끊긴 동안 놓친 알림이 있을 수 있으므로 비운 뒤 쓴다
+        assertThat(cache.getSize()).isZero();
+        assertThat(cache.getObject("k")).isNull();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondSize() {
+        cache.setSize(2);
+        for (String key : List.of("a", "b")) {
+            cache.getObject(key);
+            cache.putObject(key, key);
+        }
+        cache.getObject("a");
+        cache.getObject("c");
+        cache.putObject("c", "c");
+
+        assertThat(cache.getSize()).isEqualTo(2);
+        assertThat(cache.getObject("a")).isEqualTo("a");
+        assertThat(cache.getObject("b")).isNull();
+    }
+
+    @Test
+    void expiredEntryIsAMiss() {
+        cache.setTtlSeconds(0);
+        cache.getObject("k");
+        cache.putObject("k", "value");
+
+        assertThat(cache.getObject("k")).isNull();
+    }
+
+    @Test
+    void nullValueRemovesKey() {
+        cache.getObject("k");
+        cache.putObject("k", "value");
+        cache.putObject("k", null);
+
+        assertThat(cache.getSize()).isZero();
+    }
+
+    static CacheInvalidationBus bus() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:postgresql://localhost:5432/test");
+        properties.setUsername("test");
+        properties.setPassword("test");
+        return new CacheInvalidationBus(null, properties, new SimpleMeterRegistry(), false, "mybatis_cache",
+                Duration.ofMillis(500), Duration.ofSeconds(30), Duration.ofSeconds(2));
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.project_01.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DB 없이 가짜 풀로 라우팅만 확인한다. 운영과 같이 LazyConnectionDataSourceProxy 뒤에 두고
+ * 트랜잭션 매니저로 트랜잭션을 열어서, 실제 커넥션이 어느 풀에서 나왔는지 본다.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private static final double MAX_LAG_SECONDS = 5;
+
+    private StubPool primary;
+    private StubPool replica;
+    private ReadWriteRoutingDataSource routing;
+    private DataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        primary = new StubPool("primary");
+        replica = new StubPool("replica");
+        routing = new ReadWriteRoutingDataSource(primary, replica, null, MAX_LAG_SECONDS, new SimpleMeterRegistry());
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+        lazy.setTargetDataSource(routing);
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        lazy.afterPropertiesSet();
+        dataSource = lazy;
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.destroy();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertThat(routing.isReplicaHealthy()).isTrue();
+
+        assertThat(connectionIn(true)).isIn(replica.handedOut);
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        assertThat(connectionIn(false)).isIn(primary.handedOut);
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhileReplicaLags() {
+        replica.lagSeconds = MAX_LAG_SECONDS + 1;
+        routing.checkReplica();
+        assertThat(routing.isReplicaHealthy()).isFalse();
+
+        assertThat(connectionIn(true)).isIn(primary.handedOut);
+
+        replica.lagSeconds = 0;
+        routing.checkReplica();
+        assertThat(connectionIn(true)).isIn(replica.handedOut);
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhenReplicaRefusesConnections() {
+        replica.down = true;
+
+        assertThat(connectionIn(true)).isIn(primary.handedOut);
+        assertThat(routing.isReplicaHealthy()).isFalse();
+    }
+
+    @Test
+    void credentialsArePassedToRoutedTarget() throws SQLException {
+        try (Connection connection = routing.getConnection("reporter", "secret")) {
+            assertThat(connection).isIn(primary.handedOut);
+        }
+        assertThat(primary.usernames).containsExactly("reporter");
+    }
+
+    @Test
+    void replicaReadIsMarkedUntilTransactionCompletes() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        boolean marked = transaction.execute(status -> {
+            assertThat(ReadWriteRoutingDataSource.readsFromReplica()).isFalse();
+            ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+            return ReadWriteRoutingDataSource.readsFromReplica();
+        });
+
+        assertThat(marked).isTrue();
+        assertThat(ReadWriteRoutingDataSource.readsFromReplica()).isFalse();
+    }
+
+    @Test
+    void resultsReadFromReplicaAreNotCached() {
+        CacheInvalidationBus bus = NotifyingCacheTests.bus();
+        bus.connected();
+        try {
+            NotifyingCache cache = new NotifyingCache("test." + UUID.randomUUID());
+
+            putInTransaction(cache, true, "stale");
+            assertThat(cache.getSize()).isZero();
+
+            putInTransaction(cache, false, "fresh");
+            assertThat(cache.getObject("k")).isEqualTo("fresh");
+        } finally {
+            bus.disconnected();
+        }
+    }
+
+    // MyBatis 처럼 조회(miss)한 뒤 커밋 직전에 넣는다
+    private void putInTransaction(NotifyingCache cache, boolean readOnly, String value) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        transaction.executeWithoutResult(status -> {
+            cache.getObject("k");
+            ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+            cache.putObject("k", value);
+        });
+    }
+
+    // 트랜잭션 안에서 첫 문장을 실행할 때 실제로 받는 커넥션
+    private Connection connectionIn(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection());
+    }
+
+    /** 커넥션을 꺼내 주기만 하는 가짜 풀. 복제 지연 조회에는 lagSeconds 를 돌려준다 */
+    private static class StubPool extends HikariDataSource {
+
+        private final String name;
+        private final List<Connection> handedOut = new ArrayList<>();
+        private final List<String> usernames = new ArrayList<>();
+        private volatile double lagSeconds;
+        private volatile boolean down;
+
+        StubPool(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException(name + " is down");
+            }
+            Connection connection = stub(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+                case "createStatement" -> statement();
+                case "getAutoCommit" -> true;
+                case "toString" -> name + " connection";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> null;
+            });
+            synchronized (handedOut) {
+                handedOut.add(connection);
+            }
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            usernames.add(username);
+            return getConnection();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private Statement statement() {
+            ResultSet rs = stub(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+                case "next" -> true;
+                case "getDouble" -> lagSeconds;
+                default -> null;
+            });
+            return stub(Statement.class, (proxy, method, args) ->
+                    "executeQuery".equals(method.getName()) ? rs : null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result = handler.invoke(proxy, method, args);
+            if (result == null && method.getReturnType() == boolean.class) {
+                return false;
+            }
+            if (result == null && method.getReturnType() == int.class) {
+                return 0;
+            }
+            return result;
+        });
+    }
+}
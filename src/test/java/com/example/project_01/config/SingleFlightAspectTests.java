@@ -0,0 +1,199 @@
+package com.example.project_01.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 스프링 컨텍스트 없이 AspectJProxyFactory 로 가짜 서비스에 애스펙트를 씌운다.
+ * 가짜 서비스는 래치가 풀릴 때까지 끝나지 않으므로 앞선 호출이 진행 중인 상태를 그대로 만들 수 있다.
+ */
+class SingleFlightAspectTests {
+
+    private static final long WAIT_SECONDS = 5;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private FakeService target;
+    private FakeService service;
+
+    @BeforeEach
+    void setUp() {
+        target = new FakeService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void followersShareLeaderResult() throws Exception {
+        Future<Object> leader = callers.submit(() -> service.load("a"));
+        assertThat(target.started.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(callers.submit(() -> service.load("a")));
+        }
+        awaitFollowers("load", 3);
+
+        target.release.countDown();
+
+        Object result = leader.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        for (Future<Object> follower : followers) {
+            assertThat(follower.get(WAIT_SECONDS, TimeUnit.SECONDS)).isSameAs(result);
+        }
+        assertThat(target.calls).hasValue(1);
+    }
+
+    @Test
+    void differentArgumentsAreNotCoalesced() throws Exception {
+        target.release.countDown();
+
+        assertThat(service.load("a")).isEqualTo("a-1");
+        assertThat(service.load("b")).isEqualTo("b-2");
+    }
+
+    @Test
+    void followerTimesOutWith504() throws Exception {
+        Future<Object> leader = callers.submit(() -> service.loadWithShortTimeout("a"));
+        assertThat(target.started.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.loadWithShortTimeout("a"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+
+        target.release.countDown();
+        assertThat(leader.get(WAIT_SECONDS, TimeUnit.SECONDS)).isEqualTo("a-1");
+    }
+
+    @Test
+    void followerRetriesAfterLeaderIsCancelled() throws Exception {
+        target.cancelFirstCall = true;
+        Future<Object> leader = callers.submit(() -> service.load("a"));
+        assertThat(target.started.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        Future<Object> follower = callers.submit(() -> service.load("a"));
+        awaitFollowers("load", 1);
+
+        target.release.countDown();
+
+        assertThatThrownBy(() -> leader.get(WAIT_SECONDS, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(CancellationException.class);
+        assertThat(follower.get(WAIT_SECONDS, TimeUnit.SECONDS)).isEqualTo("a-2");
+        assertThat(target.calls).hasValue(2);
+    }
+
+    @Test
+    void asyncFollowersAttachWithoutCallingAgain() {
+        CompletableFuture<String> leader = service.loadAsync("a");
+        CompletableFuture<String> follower = service.loadAsync("a");
+
+        assertThat(follower.isDone()).isFalse();
+        target.pending.get(0).complete("shared");
+
+        assertThat(leader.join()).isEqualTo("shared");
+        assertThat(follower.join()).isEqualTo("shared");
+        assertThat(target.calls).hasValue(1);
+    }
+
+    @Test
+    void asyncFollowerTimesOutWith504() {
+        service.loadAsyncWithShortTimeout("a");
+        CompletableFuture<String> follower = service.loadAsyncWithShortTimeout("a");
+
+        assertThatThrownBy(() -> follower.get(WAIT_SECONDS, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+        assertThat(target.calls).hasValue(1);
+    }
+
+    @Test
+    void asyncFollowerRetriesAfterLeaderIsCancelled() {
+        CompletableFuture<String> leader = service.loadAsync("a");
+        CompletableFuture<String> follower = service.loadAsync("a");
+
+        target.pending.get(0).cancel(false);
+
+        assertThat(leader.isCancelled()).isTrue();
+        assertThat(target.calls).hasValue(2);
+        assertThat(follower.isDone()).isFalse();
+        target.pending.get(1).complete("retried");
+        assertThat(follower.join()).isEqualTo("retried");
+    }
+
+    // 뒤따르는 호출이 모두 앞선 호출에 붙을 때까지 기다린다
+    private void awaitFollowers(String method, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (meterRegistry.counter("singleflight.calls", "method", method, "role", "follower").count() < count) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    static class FakeService {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<CompletableFuture<String>> pending = new CopyOnWriteArrayList<>();
+        volatile boolean cancelFirstCall;
+
+        @SingleFlight(graceMillis = 0)
+        public Object load(String key) throws InterruptedException {
+            return block(key);
+        }
+
+        @SingleFlight(graceMillis = 0, timeoutMillis = 100)
+        public Object loadWithShortTimeout(String key) throws InterruptedException {
+            return block(key);
+        }
+
+        @SingleFlight(graceMillis = 0)
+        public CompletableFuture<String> loadAsync(String key) {
+            return track();
+        }
+
+        @SingleFlight(graceMillis = 0, timeoutMillis = 100)
+        public CompletableFuture<String> loadAsyncWithShortTimeout(String key) {
+            return track();
+        }
+
+        private Object block(String key) throws InterruptedException {
+            int call = calls.incrementAndGet();
+            started.countDown();
+            if (!release.await(WAIT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("not released");
+            }
+            if (call == 1 && cancelFirstCall) {
+                throw new CancellationException("client went away");
+            }
+            return key + "-" + call;
+        }
+
+        private CompletableFuture<String> track() {
+            calls.incrementAndGet();
+            CompletableFuture<String> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        }
+    }
+}
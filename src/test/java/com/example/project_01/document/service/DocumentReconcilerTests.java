@@ -0,0 +1,176 @@
+package com.example.project_01.document.service;
+
+import com.example.project_01.document.dto.DocumentResponse;
+import com.example.project_01.document.mapper.DocumentMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임시 디렉터리를 upload/ 로 쓰고, 행은 가짜 DocumentMapper 로 준다.
+ * 배치 크기를 2 로 잡아 keyset 페이지 넘김도 같이 탄다.
+ */
+class DocumentReconcilerTests {
+
+    private static final Duration GRACE = Duration.ofHours(1);
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    @TempDir
+    Path storage;
+
+    private final List<DocumentResponse> rows = new ArrayList<>();
+    private DocumentReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new DocumentReconciler(documentMapper(), storage, true, GRACE, RETENTION, 2, 0, 2,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void knownFilesAndRecentOrphansAreLeftAlone() throws Exception {
+        row(1L, "known.pdf", ago(Duration.ofDays(1)));
+        file(storage.resolve("known.pdf"), Duration.ofDays(1));
+        file(storage.resolve("uploading.pdf"), Duration.ofMinutes(5));
+
+        DocumentReconciler.Report report = reconciler.reconcile();
+
+        assertThat(storage.resolve("known.pdf")).exists();
+        assertThat(storage.resolve("uploading.pdf")).exists();
+        assertThat(report.files()).isEqualTo(2);
+        assertThat(report.rows()).isEqualTo(1);
+        assertThat(report.quarantined()).isZero();
+        assertThat(report.dangling()).isZero();
+    }
+
+    @Test
+    void orphanPastGracePeriodIsQuarantined() throws Exception {
+        file(storage.resolve("orphan.pdf"), Duration.ofHours(2));
+
+        DocumentReconciler.Report report = reconciler.reconcile();
+
+        Path quarantined = storage.resolve(".quarantine").resolve("orphan.pdf");
+        assertThat(report.quarantined()).isEqualTo(1);
+        assertThat(storage.resolve("orphan.pdf")).doesNotExist();
+        assertThat(quarantined).exists();
+        // 격리 기간은 옮긴 시각부터 센다
+        assertThat(Files.getLastModifiedTime(quarantined).toInstant()).isAfter(ago(Duration.ofMinutes(1)).toInstant());
+
+        // 바로 다시 돌려도 보존 기간 전이면 지우지 않는다
+        assertThat(reconciler.reconcile().deleted()).isZero();
+        assertThat(quarantined).exists();
+    }
+
+    @Test
+    void quarantinedFileIsRestoredWhenRowReappears() throws Exception {
+        file(storage.resolve(".quarantine").resolve("late.pdf"), Duration.ofDays(3));
+        row(4L, "late.pdf", ago(Duration.ofDays(3)));
+
+        DocumentReconciler.Report report = reconciler.reconcile();
+
+        assertThat(report.restored()).isEqualTo(1);
+        assertThat(storage.resolve("late.pdf")).exists();
+        assertThat(storage.resolve(".quarantine").resolve("late.pdf")).doesNotExist();
+        assertThat(report.dangling()).isZero();
+    }
+
+    @Test
+    void quarantinedFileIsDeletedAfterRetention() throws Exception {
+        Path quarantine = storage.resolve(".quarantine");
+        file(quarantine.resolve("expired.pdf"), RETENTION.plusDays(1));
+        file(quarantine.resolve("recent.pdf"), Duration.ofDays(1));
+
+        DocumentReconciler.Report report = reconciler.reconcile();
+
+        assertThat(report.deleted()).isEqualTo(1);
+        assertThat(quarantine.resolve("expired.pdf")).doesNotExist();
+        assertThat(quarantine.resolve("recent.pdf")).exists();
+    }
+
+    @Test
+    void orphanPreviewsAreDeleted() throws Exception {
+        row(1L, "known.pdf", ago(Duration.ofDays(1)));
+        file(storage.resolve("known.pdf"), Duration.ofDays(1));
+        Path previews = storage.resolve(".previews");
+        file(previews.resolve("known.pdf.thumb.png"), Duration.ofDays(1));
+        file(previews.resolve("gone.pdf.thumb.png"), Duration.ofDays(1));
+        file(previews.resolve("gone.pdf.failed"), Duration.ofDays(1));
+        file(previews.resolve("fresh.pdf.page.png"), Duration.ofMinutes(1));
+
+        DocumentReconciler.Report report = reconciler.reconcile();
+
+        assertThat(report.previewsDeleted()).isEqualTo(2);
+        assertThat(previews.resolve("known.pdf.thumb.png")).exists();
+        assertThat(previews.resolve("gone.pdf.thumb.png")).doesNotExist();
+        assertThat(previews.resolve("gone.pdf.failed")).doesNotExist();
+        assertThat(previews.resolve("fresh.pdf.page.png")).exists();
+    }
+
+    @Test
+    void rowsWithoutFilesAreReportedButNewRowsAreSkipped() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            row(id, "doc-" + id + ".pdf", ago(Duration.ofDays(1)));
+            if (id != 3) {
+                file(storage.resolve("doc-" + id + ".pdf"), Duration.ofDays(1));
+            }
+        }
+        // 훑는 도중 올라온 문서
+        row(6L, "uploaded-now.pdf", OffsetDateTime.now().plusMinutes(1));
+
+        DocumentReconciler.Report report = reconciler.reconcile();
+
+        assertThat(report.rows()).isEqualTo(6);
+        assertThat(report.dangling()).isEqualTo(1);
+        assertThat(report.danglingSample()).containsExactly(3L);
+        assertThat(reconciler.getLastReport()).isSameAs(report);
+    }
+
+    private void row(Long id, String storedName, OffsetDateTime createdAt) {
+        DocumentResponse row = new DocumentResponse();
+        row.setId(id);
+        row.setStoredName(storedName);
+        row.setCreatedAt(createdAt);
+        rows.add(row);
+    }
+
+    private static void file(Path path, Duration age) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, path.getFileName().toString());
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+    }
+
+    private static OffsetDateTime ago(Duration age) {
+        return OffsetDateTime.now().minus(age);
+    }
+
+    private DocumentMapper documentMapper() {
+        return (DocumentMapper) Proxy.newProxyInstance(DocumentMapper.class.getClassLoader(),
+                new Class<?>[]{DocumentMapper.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findStoredNamesAfter")) {
+                        long afterId = (long) args[0];
+                        int limit = (int) args[1];
+                        return rows.stream()
+                                .filter(row -> row.getId() > afterId)
+                                .sorted(Comparator.comparing(DocumentResponse::getId))
+                                .limit(limit)
+                                .toList();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.project_01.document.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTests {
+
+    @Test
+    void growsFromSmallCapacity() {
+        LongHashSet set = new LongHashSet(1);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(set.add(LongHashSet.hash("file-" + i))).isTrue();
+        }
+
+        assertThat(set.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(set.contains(LongHashSet.hash("file-" + i))).isTrue();
+            assertThat(set.contains(LongHashSet.hash("absent-" + i))).isFalse();
+        }
+    }
+
+    @Test
+    void duplicatesAreNotCounted() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertThat(set.add(LongHashSet.hash("a.pdf"))).isTrue();
+        assertThat(set.add(LongHashSet.hash("a.pdf"))).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void probesPastCollidingSlotsAcrossGrowth() {
+        // 아래 비트가 같아서 표가 커져도 계속 같은 칸에서 부딪힌다
+        LongHashSet set = new LongHashSet(1);
+        for (long i = 1; i <= 100; i++) {
+            set.add(i << 32);
+        }
+
+        assertThat(set.size()).isEqualTo(100);
+        for (long i = 1; i <= 100; i++) {
+            assertThat(set.contains(i << 32)).isTrue();
+        }
+        assertThat(set.contains(101L << 32)).isFalse();
+    }
+
+    @Test
+    void zeroHashIsReplacedSoItIsNotTakenForAnEmptySlot() {
+        long replaced = LongHashSet.mix(0);
+        LongHashSet set = new LongHashSet(4);
+
+        assertThat(replaced).isNotZero();
+        assertThat(set.contains(replaced)).isFalse();
+        assertThat(set.add(replaced)).isTrue();
+        assertThat(set.contains(replaced)).isTrue();
+        assertThat(set.add(replaced)).isFalse();
+    }
+
+    @Test
+    void hashIsStableAndSpreadsSimilarNames() {
+        assertThat(LongHashSet.hash("report.pdf")).isEqualTo(LongHashSet.hash("report.pdf"));
+        assertThat(LongHashSet.hash("report-1.pdf")).isNotEqualTo(LongHashSet.hash("report-2.pdf"));
+        assertThat(LongHashSet.hash("")).isNotZero();
+    }
+}
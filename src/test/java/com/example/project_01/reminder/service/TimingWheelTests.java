@@ -0,0 +1,142 @@
+package com.example.project_01.reminder.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTests {
+
+    // 1ms 틱, 바퀴당 4칸: 4 / 16 / 64 틱을 덮는 세 단계
+    private final TimingWheel<String> wheel = new TimingWheel<>(1, 4, 64, 0);
+
+    @Test
+    void spanCoversRequestedMinimum() {
+        assertThat(wheel.spanMillis()).isEqualTo(64);
+        assertThat(new TimingWheel<String>(10, 60, 48 * 3_600_000L, 0).spanMillis())
+                .isGreaterThanOrEqualTo(48 * 3_600_000L);
+    }
+
+    @Test
+    void timersCascadeDownAndFireOnTheirTick() {
+        long[] dueAt = {1, 3, 4, 5, 15, 16, 17, 30, 48, 63};
+        for (long at : dueAt) {
+            assertThat(wheel.add(at, "t" + at)).isNotNull();
+        }
+
+        Map<String, Long> firedAt = new LinkedHashMap<>();
+        for (long now = 1; now <= 64; now++) {
+            long tick = now;
+            wheel.advance(now, value -> firedAt.put(value, tick));
+        }
+
+        assertThat(firedAt).hasSize(dueAt.length);
+        for (long at : dueAt) {
+            assertThat(firedAt.get("t" + at)).as("t%d", at).isEqualTo(at);
+        }
+    }
+
+    @Test
+    void catchesUpMissedTicksInOrder() {
+        wheel.add(50, "c");
+        wheel.add(5, "a");
+        wheel.add(20, "b");
+        wheel.add(63, "later");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(60, fired::add);
+
+        assertThat(fired).containsExactly("a", "b", "c");
+        wheel.advance(63, fired::add);
+        assertThat(fired).containsExactly("a", "b", "c", "later");
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel.Timer<String> near = wheel.add(2, "near");
+        TimingWheel.Timer<String> far = wheel.add(40, "far");
+        wheel.add(41, "kept");
+        near.cancel();
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(20, fired::add);
+        // 위 바퀴에 있다가 내려오기 전에 취소
+        far.cancel();
+        wheel.advance(64, fired::add);
+
+        assertThat(fired).containsExactly("kept");
+    }
+
+    @Test
+    void pastAndCurrentTickAreNotScheduled() {
+        wheel.advance(10, value -> {
+        });
+
+        assertThat(wheel.add(9, "past")).isNull();
+        assertThat(wheel.add(10, "now")).isNull();
+        assertThat(wheel.add(11, "next")).isNotNull();
+    }
+
+    @Test
+    void addBeyondSpanThrows() {
+        assertThat(wheel.add(63, "last")).isNotNull();
+        assertThatThrownBy(() -> wheel.add(64, "too far")).isInstanceOf(IllegalArgumentException.class);
+
+        // 휠이 돌면 그만큼 더 먼 시각도 받는다
+        wheel.advance(10, value -> {
+        });
+        assertThat(wheel.add(73, "last")).isNotNull();
+        assertThatThrownBy(() -> wheel.add(74, "too far")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clearDropsEverything() {
+        wheel.add(3, "a");
+        wheel.add(50, "b");
+        wheel.clear();
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(64, fired::add);
+
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    void randomScheduleFiresEachTimerOnceNotEarly() {
+        Random random = new Random(11);
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, 10_000, 1_005);
+        Map<Long, Long> dueTick = new HashMap<>();
+        Set<Long> cancelled = new HashSet<>();
+        Set<Long> fired = new HashSet<>();
+        long now = 1_005;
+        long id = 0;
+        for (int step = 0; step < 500; step++) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                long at = now + random.nextInt((int) wheel.spanMillis() - 10);
+                TimingWheel.Timer<Long> timer = wheel.add(at, id);
+                if (timer != null) {
+                    dueTick.put(id, at / 10);
+                    if (random.nextInt(10) == 0) {
+                        timer.cancel();
+                        cancelled.add(id);
+                    }
+                }
+                id++;
+            }
+            now += random.nextInt(5) == 0 ? random.nextInt(2_000) : random.nextInt(30);
+            long nowTick = now / 10;
+            wheel.advance(now, value -> {
+                assertThat(fired.add(value)).as("fired twice: %d", value).isTrue();
+                assertThat(dueTick.get(value)).isLessThanOrEqualTo(nowTick);
+            });
+            dueTick.forEach((timer, tick) -> {
+                if (tick <= nowTick && !cancelled.contains(timer)) {
+                    assertThat(fired).as("missed %d due %d at %d", timer, tick, nowTick).contains(timer);
+                }
+            });
+        }
+        assertThat(fired).doesNotContainAnyElementsOf(cancelled);
+    }
+}
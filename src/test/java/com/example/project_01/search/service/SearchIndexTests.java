@@ -0,0 +1,127 @@
+package com.example.project_01.search.service;
+
+import com.example.project_01.search.dto.SearchDocument;
+import com.example.project_01.search.dto.SearchResultResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTests {
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Test
+    void tokenizeSplitsWordsIntoBigrams() {
+        assertThat(SearchIndex.tokenize("Hello, 세계!")).containsExactly("he", "el", "ll", "lo", "세계");
+    }
+
+    @Test
+    void tokenizeKeepsSingleCharacterWordsAndNormalizesWidth() {
+        assertThat(SearchIndex.tokenize("a ＡＢ 3")).containsExactly("a", "ab", "3");
+        assertThat(SearchIndex.tokenize(null)).isEmpty();
+        assertThat(SearchIndex.tokenize(" - ")).isEmpty();
+    }
+
+    @Test
+    void searchReturnsTopResultsByScore() {
+        index.index(task(1L, "배포 준비", "서버 점검"));
+        index.index(task(2L, "회의록", "배포 일정 공유"));
+        index.index(task(3L, "배포 준비 회고", "배포 배포"));
+        index.index(task(4L, "디자인 검토", "시안"));
+
+        List<SearchResultResponse> results = index.search("배포 준비", null, 2);
+
+        assertThat(results).extracting(SearchResultResponse::getId).containsExactly(3L, 1L);
+        assertThat(results.get(0).getScore()).isGreaterThanOrEqualTo(results.get(1).getScore());
+    }
+
+    @Test
+    void titleMatchOutranksBodyMatch() {
+        index.index(task(1L, "회의록", "스프린트 계획"));
+        index.index(task(2L, "스프린트 계획", "회의록"));
+
+        assertThat(index.search("스프린트 계획", null, 10))
+                .extracting(SearchResultResponse::getId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void searchRequiresHalfOfQueryBigrams() {
+        index.index(task(1L, "데이터베이스 이전", null));
+
+        // "데이" 하나만 겹친다
+        assertThat(index.search("데이트 코스", null, 10)).isEmpty();
+        assertThat(index.search("데이터", null, 10)).extracting(SearchResultResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    void searchFiltersByType() {
+        index.index(task(1L, "릴리스 노트", null));
+        index.index(new SearchDocument(SearchDocument.PROJECT, 9L, 9L, "릴리스 노트", null));
+
+        assertThat(index.search("릴리스", SearchDocument.PROJECT, 10))
+                .extracting(SearchResultResponse::getType)
+                .containsExactly(SearchDocument.PROJECT);
+        assertThat(index.search("릴리스", null, 0)).isEmpty();
+    }
+
+    @Test
+    void reindexReplacesAndRemoveDropsDocument() {
+        index.index(task(1L, "초안 작성", null));
+        index.index(task(1L, "최종 검토", null));
+
+        assertThat(index.search("초안", null, 10)).isEmpty();
+        assertThat(index.search("검토", null, 10)).hasSize(1);
+
+        index.remove(SearchDocument.TASK, 1L, 1L);
+        assertThat(index.search("검토", null, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void removeProjectDropsOnlyItsDocuments() {
+        index.index(task(1L, "보고서", null));
+        index.index(new SearchDocument(SearchDocument.TASK, 2L, 5L, "보고서", null));
+
+        index.removeProject(1L);
+
+        assertThat(index.search("보고서", null, 10)).extracting(SearchResultResponse::getProjectId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void rebuildReplaysChangesMadeWhileLoading() {
+        index.index(task(1L, "예전 작업", null));
+
+        index.rebuild(sink -> {
+            sink.accept(task(1L, "예전 작업", null));
+            sink.accept(task(2L, "지워질 작업", null));
+            // 로더가 읽는 동안 들어온 증분 변경
+            index.index(task(3L, "새 작업", null));
+            index.remove(SearchDocument.TASK, 1L, 2L);
+            index.remove(SearchDocument.TASK, 1L, 1L);
+            // 교체 전에도 기존 색인에는 바로 보인다
+            assertThat(index.search("새 작업", null, 10)).extracting(SearchResultResponse::getId)
+                    .containsExactly(3L);
+        });
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("작업", null, 10)).extracting(SearchResultResponse::getId).containsExactly(3L);
+    }
+
+    @Test
+    void changesAfterRebuildAreNotQueued() {
+        index.rebuild(sink -> sink.accept(task(1L, "첫 작업", null)));
+        index.index(task(2L, "둘째 작업", null));
+
+        index.rebuild(sink -> sink.accept(task(1L, "첫 작업", null)));
+
+        assertThat(index.search("작업", null, 10)).extracting(SearchResultResponse::getId).containsExactly(1L);
+    }
+
+    private static SearchDocument task(Long id, String title, String body) {
+        return new SearchDocument(SearchDocument.TASK, 1L, id, title, body);
+    }
+}